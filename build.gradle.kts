@@ -33,6 +33,7 @@ dependencies {
 
     testImplementation("org.openjdk.jmh:jmh-core:1.32")
     testImplementation("org.openjdk.jmh:jmh-generator-annprocess:1.32")
+    testAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.32")
 
     testImplementation("org.junit.jupiter:junit-jupiter-engine:5.8.2")
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.8.1")
@@ -64,6 +65,38 @@ license {
 
 val javaComponent: SoftwareComponent = components["java"]
 
+val jmhResults = layout.buildDirectory.file("jmh/results.json")
+val jmhBaseline = rootProject.file("config/jmh/baseline.json")
+
+/**
+ * The score and normalized allocation of a JMH run.
+ */
+data class JmhResult(val mode: String, val unit: String, val score: Double, val allocation: Double?)
+
+/**
+ * Reads a JMH json report, keyed by benchmark, mode and parameters.
+ */
+@Suppress("UNCHECKED_CAST")
+fun readJmhResults(file: File): Map<String, JmhResult> {
+    if (!file.exists()) {
+        return emptyMap()
+    }
+
+    val runs = groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>
+
+    return runs.associate { run ->
+        val params = (run["params"] as Map<String, Any?>?)?.toSortedMap()
+            ?.entries?.joinToString(",", "(", ")") { "${it.key}=${it.value}" } ?: ""
+        val primary = run["primaryMetric"] as Map<String, Any?>
+        val secondary = run["secondaryMetrics"] as Map<String, Map<String, Any?>>? ?: emptyMap()
+        val allocation = secondary.entries.firstOrNull { it.key.endsWith("gc.alloc.rate.norm") }
+            ?.value?.get("score") as Number?
+
+        "${run["benchmark"]} [${run["mode"]}]$params" to JmhResult(run["mode"] as String,
+            primary["scoreUnit"] as String, (primary["score"] as Number).toDouble(), allocation?.toDouble())
+    }
+}
+
 tasks {
     processResources {
         eachFile { expand("version" to project.version) }
@@ -102,6 +135,73 @@ tasks {
         useJUnitPlatform()
     }
 
+    register<JavaExec>("jmh") {
+        group = "verification"
+        description = "Runs the JMH benchmarks of the test sources with the GC profiler."
+
+        classpath = sourceSets.test.get().runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+
+        args(project.findProperty("jmhInclude")?.toString() ?: "Benchmarks", "-prof", "gc",
+            "-rf", "json", "-rff", jmhResults.get().asFile.path)
+
+        doFirst { jmhResults.get().asFile.parentFile.mkdirs() }
+    }
+
+    register<Copy>("jmhBaseline") {
+        group = "verification"
+        description = "Runs the JMH benchmarks and records their results as the checked-in baseline."
+
+        dependsOn(named("jmh"))
+
+        from(jmhResults)
+        into(jmhBaseline.parentFile)
+        rename { jmhBaseline.name }
+    }
+
+    register("jmhCompare") {
+        group = "verification"
+        description = "Runs the JMH benchmarks and fails on a regression against the checked-in baseline."
+
+        dependsOn(named("jmh"))
+
+        doLast {
+            val threshold = (project.findProperty("jmhThreshold")?.toString()?.toDouble() ?: 10.0) / 100
+            val baseline = readJmhResults(jmhBaseline)
+            val regressions = mutableListOf<String>()
+
+            for ((name, result) in readJmhResults(jmhResults.get().asFile)) {
+                val base = baseline[name]
+                if (base == null) {
+                    logger.lifecycle("  new  $name: ${"%.3f".format(result.score)} ${result.unit}")
+                    continue
+                }
+
+                // throughput is the only mode where a higher score is better
+                val change = if (result.mode == "thrpt") {
+                    (base.score - result.score) / base.score
+                } else {
+                    (result.score - base.score) / base.score
+                }
+                logger.lifecycle("%+6.1f%% $name: %.3f -> %.3f ${result.unit}".format(change * 100, base.score, result.score))
+
+                if (change > threshold) {
+                    regressions += "$name is ${"%.1f".format(change * 100)}% slower"
+                }
+
+                // the normalized allocation is noisy around zero, a few bytes are not a regression
+                if (base.allocation != null && result.allocation != null &&
+                    result.allocation - base.allocation > maxOf(base.allocation * threshold, 8.0)) {
+                    regressions += "$name allocates ${"%.1f".format(result.allocation)} B/op instead of ${"%.1f".format(base.allocation)} B/op"
+                }
+            }
+
+            if (regressions.isNotEmpty()) {
+                throw GradleException("JMH regressions against ${jmhBaseline.name}:\n  ${regressions.joinToString("\n  ")}")
+            }
+        }
+    }
+
     publishing {
         publications {
             create<MavenPublication>("maven") {
@@ -20,20 +20,28 @@
 
 package me.clip.placeholderapi;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import me.clip.placeholderapi.expansion.Relational;
 import me.clip.placeholderapi.expansion.manager.LocalExpansionManager;
 import me.clip.placeholderapi.replacer.CharsReplacer;
+import me.clip.placeholderapi.replacer.PlaceholderTemplate;
+import me.clip.placeholderapi.replacer.RelationalReplacer;
 import me.clip.placeholderapi.replacer.Replacer;
 import me.clip.placeholderapi.replacer.Replacer.Closure;
+import me.clip.placeholderapi.scheduler.scheduling.schedulers.TaskScheduler;
 import me.clip.placeholderapi.util.Msg;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
@@ -45,6 +53,7 @@ public final class PlaceholderAPI {
 
   private static final Replacer REPLACER_PERCENT = new CharsReplacer(Closure.PERCENT);
   private static final Replacer REPLACER_BRACKET = new CharsReplacer(Closure.BRACKET);
+  private static final RelationalReplacer REPLACER_RELATIONAL = new RelationalReplacer();
 
   private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("[%]([^%]+)[%]");
   private static final Pattern BRACKET_PLACEHOLDER_PATTERN = Pattern.compile("[{]([^{}]+)[}]");
@@ -112,6 +121,125 @@ public final class PlaceholderAPI {
     return setPlaceholders(((OfflinePlayer) player), text);
   }
 
+  /**
+   * Translates all placeholders into their corresponding values for every player at once.
+   * <br>The text is parsed once and each placeholder is resolved for all players in turn, which
+   * is cheaper than calling {@link #setPlaceholders(OfflinePlayer, String)} for each of them.
+   * <br>The pattern of a valid placeholder is {@literal %<identifier>_<params>%}.
+   *
+   * @param players Players to parse the placeholders against
+   * @param text Text to set the placeholder values in
+   * @return The translated text of every player, keyed by their unique id
+   */
+  @NotNull
+  public static Map<UUID, String> setPlaceholdersForAll(
+      @NotNull final Collection<? extends OfflinePlayer> players, @NotNull final String text) {
+    return compile(text).renderAll(players);
+  }
+
+  /**
+   * Translates all placeholders into their corresponding values for every player at once.
+   * <br>Each line is parsed once and each placeholder is resolved for all players in turn.
+   * <br>The pattern of a valid placeholder is {@literal %<identifier>_<params>%}.
+   *
+   * @param players Players to parse the placeholders against
+   * @param text List of Strings to set the placeholder values in
+   * @return The translated lines of every player, keyed by their unique id
+   */
+  @NotNull
+  public static Map<UUID, List<String>> setPlaceholdersForAll(
+      @NotNull final Collection<? extends OfflinePlayer> players,
+      @NotNull final List<String> text) {
+    final Map<UUID, List<String>> rendered = Maps.newLinkedHashMapWithExpectedSize(players.size());
+
+    for (final OfflinePlayer player : players) {
+      rendered.put(player.getUniqueId(), new ArrayList<>(text.size()));
+    }
+
+    for (final String line : text) {
+      for (final Map.Entry<UUID, String> entry : compile(line).renderAll(players).entrySet()) {
+        rendered.get(entry.getKey()).add(entry.getValue());
+      }
+    }
+
+    return rendered;
+  }
+
+  /**
+   * Translates all placeholders into their corresponding values for every player, each on the
+   * thread which owns that player.
+   * <br>On Folia every player is rendered by a task of their own entity scheduler, spreading the
+   * work across the region threads. Elsewhere all players are rendered on the main thread.
+   * <br>The future completes once every player is rendered. Players removed from their world
+   * before their task ran are left out of the result. Never wait for it on a server thread.
+   *
+   * @param players Online players to parse the placeholders against
+   * @param text Text to set the placeholder values in
+   * @return Future of the translated text of every player, keyed by their unique id
+   */
+  @NotNull
+  public static CompletableFuture<Map<UUID, String>> setPlaceholdersDistributed(
+      @NotNull final Collection<? extends Player> players, @NotNull final String text) {
+    return distribute(players, compile(text)::apply);
+  }
+
+  /**
+   * Translates all placeholders into their corresponding values for every player, each on the
+   * thread which owns that player.
+   * <br>See {@link #setPlaceholdersDistributed(Collection, String)}.
+   *
+   * @param players Online players to parse the placeholders against
+   * @param text List of Strings to set the placeholder values in
+   * @return Future of the translated lines of every player, keyed by their unique id
+   */
+  @NotNull
+  public static CompletableFuture<Map<UUID, List<String>>> setPlaceholdersDistributed(
+      @NotNull final Collection<? extends Player> players, @NotNull final List<String> text) {
+    final List<PlaceholderTemplate> templates = text.stream().map(PlaceholderAPI::compile)
+        .collect(Collectors.toList());
+
+    return distribute(players, player -> templates.stream().map(template -> template.apply(player))
+        .collect(Collectors.toList()));
+  }
+
+  @NotNull
+  private static <T> CompletableFuture<Map<UUID, T>> distribute(
+      @NotNull final Collection<? extends Player> players,
+      @NotNull final Function<Player, T> render) {
+    final TaskScheduler scheduler = PlaceholderAPIPlugin.getInstance().getScheduler();
+    final List<Player> targets = ImmutableList.copyOf(players);
+    final Map<UUID, T> rendered = new ConcurrentHashMap<>();
+    final CompletableFuture<?>[] tasks = new CompletableFuture<?>[targets.size()];
+
+    for (int i = 0; i < tasks.length; i++) {
+      final Player player = targets.get(i);
+      final CompletableFuture<Void> task = new CompletableFuture<>();
+      tasks[i] = task;
+
+      scheduler.runTask(player, () -> {
+        try {
+          rendered.put(player.getUniqueId(), render.apply(player));
+          task.complete(null);
+        } catch (final Throwable throwable) {
+          task.completeExceptionally(throwable);
+        }
+      }, () -> task.complete(null));
+    }
+
+    return CompletableFuture.allOf(tasks).thenApply(ignored -> {
+      final Map<UUID, T> ordered = Maps.newLinkedHashMapWithExpectedSize(rendered.size());
+
+      for (final Player player : targets) {
+        final T value = rendered.get(player.getUniqueId());
+        if (value != null) {
+          ordered.put(player.getUniqueId(), value);
+        }
+      }
+
+      return ordered;
+    });
+  }
+
   /**
    * Translates all placeholders into their corresponding values.
    * <br>The pattern of a valid placeholder is {@literal {<identifier>_<params>}}.
@@ -168,6 +296,36 @@ public final class PlaceholderAPI {
     return setBracketPlaceholders((OfflinePlayer) player, text);
   }
 
+  /**
+   * Compiles the provided text into a reusable {@link PlaceholderTemplate}.
+   * <br>The text is parsed once, rendering the template afterwards only requests the values of
+   * its placeholders. The template follows registrations and unregistrations of expansions.
+   *
+   * @param text Text to compile
+   * @param closure The closure of the placeholders within the text
+   * @return The compiled template
+   */
+  @NotNull
+  public static PlaceholderTemplate compile(@NotNull final String text,
+      @NotNull final Closure closure) {
+    final LocalExpansionManager manager = PlaceholderAPIPlugin.getInstance()
+        .getLocalExpansionManager();
+    return PlaceholderTemplate.compile(text, closure, manager::getExpansion,
+        manager::getGeneration);
+  }
+
+  /**
+   * Compiles the provided text into a reusable {@link PlaceholderTemplate}.
+   * <br>The pattern of a valid placeholder is {@literal %<identifier>_<params>%}.
+   *
+   * @param text Text to compile
+   * @return The compiled template
+   */
+  @NotNull
+  public static PlaceholderTemplate compile(@NotNull final String text) {
+    return compile(text, Closure.PERCENT);
+  }
+
   /**
    * set relational placeholders in the text specified placeholders are matched with the pattern
    * {@literal %<rel_(identifier)_(params)>%} when set with this method
@@ -178,33 +336,8 @@ public final class PlaceholderAPI {
    * @return The text containing the parsed relational placeholders
    */
   public static String setRelationalPlaceholders(Player one, Player two, String text) {
-    final Matcher matcher = RELATIONAL_PLACEHOLDER_PATTERN.matcher(text);
-
-    while (matcher.find()) {
-      final String format = matcher.group(2);
-      final int index = format.indexOf("_");
-
-      if (index <= 0 || index >= format.length()) {
-        continue;
-      }
-
-      String identifier = format.substring(0, index).toLowerCase(Locale.ROOT);
-      String params = format.substring(index + 1);
-      final PlaceholderExpansion expansion = PlaceholderAPIPlugin.getInstance()
-          .getLocalExpansionManager().getExpansion(identifier);
-
-      if (!(expansion instanceof Relational)) {
-        continue;
-      }
-
-      final String value = ((Relational) expansion).onPlaceholderRequest(one, two, params);
-
-      if (value != null) {
-        text = text.replaceAll(Pattern.quote(matcher.group()), Matcher.quoteReplacement(value));
-      }
-    }
-
-    return text;
+    return REPLACER_RELATIONAL.apply(text, one, two,
+        PlaceholderAPIPlugin.getInstance().getLocalExpansionManager()::getExpansion);
   }
 
   /**
@@ -20,9 +20,11 @@
 
 package me.clip.placeholderapi;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import me.clip.placeholderapi.commands.PlaceholderCommandRouter;
 import me.clip.placeholderapi.configuration.PlaceholderAPIConfig;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
@@ -30,11 +32,15 @@ import me.clip.placeholderapi.expansion.Version;
 import me.clip.placeholderapi.expansion.manager.CloudExpansionManager;
 import me.clip.placeholderapi.expansion.manager.LocalExpansionManager;
 import me.clip.placeholderapi.listeners.ServerLoadEventListener;
+import me.clip.placeholderapi.profiling.MetricsExporter;
+import me.clip.placeholderapi.profiling.PlaceholderMetrics;
+import me.clip.placeholderapi.profiling.PlaceholderWatchdog;
 import me.clip.placeholderapi.scheduler.UniversalScheduler;
 import me.clip.placeholderapi.scheduler.scheduling.schedulers.TaskScheduler;
 import me.clip.placeholderapi.util.ExpansionSafetyCheck;
 import me.clip.placeholderapi.util.Msg;
 import me.clip.placeholderapi.util.Platform;
+import me.clip.placeholderapi.util.WarnThrottle;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import org.bstats.bukkit.Metrics;
 import org.bstats.charts.AdvancedPie;
@@ -68,6 +74,8 @@ public final class PlaceholderAPIPlugin extends JavaPlugin {
   private final TaskScheduler scheduler = UniversalScheduler.getScheduler(this);
 
   private BukkitAudiences adventure;
+  private WarnThrottle warnThrottle;
+  private MetricsExporter exporter;
   private boolean safetyCheck = false;
 
   /**
@@ -148,8 +156,14 @@ public final class PlaceholderAPIPlugin extends JavaPlugin {
       return;
     }
 
+    warnThrottle = new WarnThrottle(getLogger()::warning, 10, TimeUnit.SECONDS);
+    PlaceholderMetrics.getInstance().setEnabled(config.isPlaceholderMetrics());
+    PlaceholderWatchdog.getInstance().start(config.placeholderWatchdogThreshold(),
+        TimeUnit.MILLISECONDS, warnThrottle);
+
     setupCommand();
     setupMetrics();
+    setupExporter();
     setupExpansions();
 
     adventure = BukkitAudiences.create(this);
@@ -174,6 +188,9 @@ public final class PlaceholderAPIPlugin extends JavaPlugin {
 
     getCloudExpansionManager().kill();
     getLocalExpansionManager().kill();
+    getLocalExpansionManager().closeRetiredLoaders();
+    getLocalExpansionManager().shutdownLoader();
+    getLocalExpansionManager().flushConfig();
 
     HandlerList.unregisterAll(this);
 
@@ -182,9 +199,40 @@ public final class PlaceholderAPIPlugin extends JavaPlugin {
     adventure.close();
     adventure = null;
 
+    PlaceholderWatchdog.getInstance().stop();
+    warnThrottle.close();
+
+    if (exporter != null) {
+      exporter.close();
+      exporter = null;
+    }
+
     instance = null;
   }
 
+  @Override
+  public void saveConfig() {
+    // an older snapshot written afterwards would undo this save
+    localExpansionManager.flushConfig();
+    super.saveConfig();
+  }
+
+  @Override
+  public void reloadConfig() {
+    // the defaults merged by expansions would be lost if not saved first
+    localExpansionManager.flushConfig();
+    super.reloadConfig();
+    localExpansionManager.reloadConfigSnapshots();
+    PlaceholderMetrics.getInstance().setEnabled(config.isPlaceholderMetrics());
+
+    // the config is first loaded before the plugin is enabled
+    if (warnThrottle != null) {
+      PlaceholderWatchdog.getInstance().start(config.placeholderWatchdogThreshold(),
+          TimeUnit.MILLISECONDS, warnThrottle);
+      setupExporter();
+    }
+  }
+
   public void reloadConf(@NotNull final CommandSender sender) {
     getLocalExpansionManager().kill();
 
@@ -223,6 +271,17 @@ public final class PlaceholderAPIPlugin extends JavaPlugin {
     return scheduler;
   }
 
+  /**
+   * Obtain the service deduplicating repeated warnings, such as the ones of malformed
+   * placeholders of the internal expansions.
+   *
+   * @return WarnThrottle instance
+   */
+  @NotNull
+  public WarnThrottle getWarnThrottle() {
+    return warnThrottle;
+  }
+
   /**
    * Obtain the configuration class for PlaceholderAPI.
    *
@@ -263,6 +322,27 @@ public final class PlaceholderAPIPlugin extends JavaPlugin {
     }));
   }
 
+  private void setupExporter() {
+    if (exporter != null) {
+      exporter.close();
+      exporter = null;
+    }
+
+    if (!config.isMetricsExporterEnabled()) {
+      return;
+    }
+
+    try {
+      exporter = MetricsExporter.start(this, config.metricsExporterHost(),
+          config.metricsExporterPort());
+      Msg.info("Serving metrics at http://%s:%d/metrics", config.metricsExporterHost(),
+          exporter.getAddress().getPort());
+    } catch (final IOException | IllegalArgumentException ex) {
+      Msg.warn("Failed to start the metrics exporter on %s:%d", ex, config.metricsExporterHost(),
+          config.metricsExporterPort());
+    }
+  }
+
   private void setupExpansions() {
     Bukkit.getPluginManager().registerEvents(getLocalExpansionManager(), this);
 
@@ -38,6 +38,7 @@ import me.clip.placeholderapi.commands.impl.local.CommandExpansionUnregister;
 import me.clip.placeholderapi.commands.impl.local.CommandHelp;
 import me.clip.placeholderapi.commands.impl.local.CommandInfo;
 import me.clip.placeholderapi.commands.impl.local.CommandList;
+import me.clip.placeholderapi.commands.impl.local.CommandMetrics;
 import me.clip.placeholderapi.commands.impl.local.CommandParse;
 import me.clip.placeholderapi.commands.impl.local.CommandReload;
 import me.clip.placeholderapi.commands.impl.local.CommandVersion;
@@ -55,6 +56,7 @@ public final class PlaceholderCommandRouter implements CommandExecutor, TabCompl
   private static final List<PlaceholderCommand> COMMANDS = ImmutableList.of(new CommandHelp(),
       new CommandInfo(),
       new CommandList(),
+      new CommandMetrics(),
       new CommandDump(),
       new CommandECloud(),
       new CommandParse(),
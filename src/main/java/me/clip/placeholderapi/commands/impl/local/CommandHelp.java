@@ -55,6 +55,8 @@ public final class CommandHelp extends PlaceholderCommand {
         "  &7&oView information for a specific expansion",
         "&b/papi &flist",
         "  &7&oList active expansions",
+        "&b/papi &fmetrics &9[expansion|reset]",
+        "  &7&oView how often and how fast the placeholders of each expansion are requested",
         "&b/papi &fparse &9<me|--null|player name> <message>",
         "  &7&oParse a message with placeholders",
         "&b/papi &fparserel &9<player one> <player two> <message>",
@@ -63,6 +65,8 @@ public final class CommandHelp extends PlaceholderCommand {
         "  &7&oRegister an expansion by the name of the file",
         "&b/papi &freload",
         "  &7&oReload the config of PAPI",
+        "&b/papi &freload &9<jar>",
+        "  &7&oReload only the expansion of a jar in the expansions folder",
         "&b/papi &funregister &9<expansion name>",
         "  &7&oUnregister an expansion by name",
         "&b/papi &fversion",
@@ -21,10 +21,14 @@
 package me.clip.placeholderapi.commands.impl.local;
 
 import java.util.List;
+import java.util.Map;
 import me.clip.placeholderapi.PlaceholderAPI;
 import me.clip.placeholderapi.PlaceholderAPIPlugin;
 import me.clip.placeholderapi.commands.PlaceholderCommand;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.expansion.internal.StatisticsProvider;
+import me.clip.placeholderapi.expansion.manager.CircuitBreaker;
+import me.clip.placeholderapi.expansion.manager.ValueCache;
 import me.clip.placeholderapi.util.Msg;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
@@ -84,6 +88,42 @@ public final class CommandInfo extends PlaceholderCommand {
           .append('\n');
     }
 
+    final ValueCache cache = plugin.getLocalExpansionManager().getValueCache(expansion);
+    if (cache != null) {
+      builder.append("&7Cache: &r")
+          .append(cache.getHits())
+          .append(" hits, ")
+          .append(cache.getMisses())
+          .append(" misses, ")
+          .append(cache.size())
+          .append(" entries")
+          .append('\n');
+    }
+
+    final CircuitBreaker breaker = plugin.getLocalExpansionManager().getCircuitBreaker(expansion);
+    if (breaker != null) {
+      builder.append("&7Circuit breaker: &r")
+          .append(breaker.getState() == CircuitBreaker.State.CLOSED ? "&a" : "&c")
+          .append(breaker.getState().getName())
+          .append("&r, ")
+          .append(breaker.getFailures())
+          .append(" failures, ")
+          .append(breaker.getRejected())
+          .append(" served from fallback")
+          .append('\n');
+    }
+
+    if (expansion instanceof StatisticsProvider) {
+      for (final Map.Entry<String, Object> statistic : ((StatisticsProvider) expansion)
+          .getStatistics().entrySet()) {
+        builder.append("&7")
+            .append(statistic.getKey())
+            .append(": &r")
+            .append(statistic.getValue())
+            .append('\n');
+      }
+    }
+
     final List<String> placeholders = expansion.getPlaceholders();
     if (placeholders != null && !placeholders.isEmpty()) {
       builder.append("&8&m-- &7Placeholders &8&m--&r")
@@ -0,0 +1,146 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.commands.impl.local;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import me.clip.placeholderapi.PlaceholderAPIPlugin;
+import me.clip.placeholderapi.commands.PlaceholderCommand;
+import me.clip.placeholderapi.profiling.ExpansionMetrics;
+import me.clip.placeholderapi.profiling.LatencyHistogram;
+import me.clip.placeholderapi.profiling.PlaceholderMetrics;
+import me.clip.placeholderapi.util.Msg;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+public final class CommandMetrics extends PlaceholderCommand {
+
+  private static final int LIMIT = 15;
+
+  public CommandMetrics() {
+    super("metrics");
+  }
+
+  @Override
+  public void evaluate(@NotNull final PlaceholderAPIPlugin plugin,
+      @NotNull final CommandSender sender, @NotNull final String alias,
+      @NotNull @Unmodifiable final List<String> params) {
+    final PlaceholderMetrics metrics = PlaceholderMetrics.getInstance();
+
+    if (!params.isEmpty() && params.get(0).equalsIgnoreCase("reset")) {
+      metrics.reset();
+      Msg.msg(sender, "&aPlaceholder metrics have been reset.");
+      return;
+    }
+
+    if (!metrics.isEnabled()) {
+      Msg.msg(sender,
+          "&cPlaceholder metrics are disabled, enable &fplaceholder_metrics &cin the config first.");
+      return;
+    }
+
+    if (!params.isEmpty()) {
+      final ExpansionMetrics expansion = metrics.getExpansion(params.get(0));
+      if (expansion == null) {
+        Msg.msg(sender,
+            "&cNo placeholder of &f" + params.get(0) + " &chas been requested yet.");
+        return;
+      }
+
+      Msg.msg(sender, "&7Placeholder metrics for: &r" + expansion.getIdentifier(), describe(expansion));
+      return;
+    }
+
+    final List<ExpansionMetrics> expansions = metrics.getExpansions().stream()
+        .sorted(Comparator.comparingLong(
+            (ExpansionMetrics it) -> it.getLatency().getSum()).reversed())
+        .toList();
+
+    if (expansions.isEmpty()) {
+      Msg.msg(sender, "&7No placeholder has been requested yet.");
+      return;
+    }
+
+    final StringBuilder builder = new StringBuilder("&7Placeholder metrics, by total time:");
+    for (final ExpansionMetrics expansion : expansions.subList(0, Math.min(LIMIT, expansions.size()))) {
+      builder.append('\n')
+          .append("&f")
+          .append(expansion.getIdentifier())
+          .append(' ')
+          .append(describe(expansion));
+    }
+
+    if (expansions.size() > LIMIT) {
+      builder.append('\n')
+          .append("&7... and ")
+          .append(expansions.size() - LIMIT)
+          .append(" more, see &f/papi metrics <expansion>");
+    }
+
+    Msg.msg(sender, builder.toString());
+  }
+
+  @Override
+  public void complete(@NotNull final PlaceholderAPIPlugin plugin,
+      @NotNull final CommandSender sender, @NotNull final String alias,
+      @NotNull @Unmodifiable final List<String> params, @NotNull final List<String> suggestions) {
+    if (params.size() > 1) {
+      return;
+    }
+
+    final Stream<String> targets = Stream.concat(Stream.of("reset"),
+        PlaceholderMetrics.getInstance().getExpansions().stream()
+            .map(ExpansionMetrics::getIdentifier));
+
+    suggestByParameter(targets, suggestions, params.isEmpty() ? null : params.get(0));
+  }
+
+  @NotNull
+  private static String describe(@NotNull final ExpansionMetrics expansion) {
+    final LatencyHistogram.Snapshot latency = expansion.getLatency();
+
+    return "&7" + expansion.getRequests() + " requests, "
+        + expansion.getErrors() + " errors, "
+        + expansion.getNulls() + " nulls, "
+        + "mean &f" + duration(latency.getMean())
+        + "&7, p50 &f" + duration(latency.getPercentile(0.5))
+        + "&7, p99 &f" + duration(latency.getPercentile(0.99))
+        + "&7, max &f" + duration(latency.getMax());
+  }
+
+  @NotNull
+  private static String duration(final long nanos) {
+    if (nanos < 1_000) {
+      return nanos + "ns";
+    }
+
+    if (nanos < 1_000_000) {
+      return String.format(Locale.ROOT, "%.1f\u00b5s", nanos / 1_000.0);
+    }
+
+    return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000.0);
+  }
+
+}
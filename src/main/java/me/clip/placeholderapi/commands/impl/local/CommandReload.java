@@ -20,10 +20,15 @@
 
 package me.clip.placeholderapi.commands.impl.local;
 
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import me.clip.placeholderapi.PlaceholderAPIPlugin;
 import me.clip.placeholderapi.commands.PlaceholderCommand;
+import me.clip.placeholderapi.expansion.manager.LocalExpansionManager;
 import me.clip.placeholderapi.util.ExpansionSafetyCheck;
+import me.clip.placeholderapi.util.Msg;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
@@ -38,9 +43,44 @@ public final class CommandReload extends PlaceholderCommand {
   public void evaluate(@NotNull final PlaceholderAPIPlugin plugin,
       @NotNull final CommandSender sender, @NotNull final String alias,
       @NotNull @Unmodifiable final List<String> params) {
-    if (!new ExpansionSafetyCheck(plugin).runChecks()) {
+    if (new ExpansionSafetyCheck(plugin).runChecks()) {
+      return;
+    }
+
+    if (params.isEmpty()) {
       plugin.reloadConf(sender);
+      return;
+    }
+
+    final LocalExpansionManager manager = plugin.getLocalExpansionManager();
+
+    final File file = new File(manager.getExpansionsFolder(), params.get(0));
+    if (!file.getName().endsWith(".jar")
+        || !manager.getExpansionsFolder().equals(file.getParentFile())) {
+      Msg.msg(sender,
+          "&cThe file &f" + file.getName() + "&c is not an expansion jar!");
+      return;
+    }
+
+    manager.reloadJars(sender, Collections.singleton(file.getName()), true);
+  }
+
+  @Override
+  public void complete(@NotNull final PlaceholderAPIPlugin plugin,
+      @NotNull final CommandSender sender, @NotNull final String alias,
+      @NotNull @Unmodifiable final List<String> params, @NotNull final List<String> suggestions) {
+    if (params.size() > 1) {
+      return;
     }
+
+    final String[] fileNames = plugin.getLocalExpansionManager().getExpansionsFolder()
+        .list((dir, name) -> name.endsWith(".jar"));
+    if (fileNames == null || fileNames.length == 0) {
+      return;
+    }
+
+    suggestByParameter(Arrays.stream(fileNames), suggestions,
+        params.isEmpty() ? null : params.get(0));
   }
 
 }
@@ -22,6 +22,7 @@ package me.clip.placeholderapi.configuration;
 
 import java.util.Optional;
 import me.clip.placeholderapi.PlaceholderAPIPlugin;
+import me.clip.placeholderapi.expansion.manager.CircuitBreaker;
 import org.jetbrains.annotations.NotNull;
 
 public final class PlaceholderAPIConfig {
@@ -90,4 +91,66 @@ public final class PlaceholderAPIConfig {
     return plugin.getConfig().getBoolean("detect_malicious_expansions", true);
   }
 
+  /**
+   * The number of threads loading the expansion jars, 0 or less for one per available core.
+   */
+  public int expansionLoaderThreads() {
+    final int threads = plugin.getConfig().getInt("expansion_loader.threads", 0);
+    return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+  }
+
+  public boolean isExpansionHotReload() {
+    return plugin.getConfig().getBoolean("expansion_hot_reload", false);
+  }
+
+  public boolean expansionLoaderVirtualThreads() {
+    return plugin.getConfig().getBoolean("expansion_loader.virtual_threads", false);
+  }
+
+  public boolean isPlaceholderMetrics() {
+    return plugin.getConfig().getBoolean("placeholder_metrics", false);
+  }
+
+  /**
+   * The milliseconds after which a placeholder request is reported by the watchdog, 0 or less
+   * when disabled.
+   */
+  public long placeholderWatchdogThreshold() {
+    return plugin.getConfig().getLong("placeholder_watchdog.threshold_millis", 0);
+  }
+
+  public boolean isCircuitBreakerEnabled() {
+    return plugin.getConfig().getBoolean("circuit_breaker.enabled", false);
+  }
+
+  @NotNull
+  public CircuitBreaker.Settings circuitBreakerSettings() {
+    final CircuitBreaker.Fallback fallback = "placeholder".equalsIgnoreCase(
+        plugin.getConfig().getString("circuit_breaker.fallback"))
+        ? CircuitBreaker.Fallback.PLACEHOLDER : CircuitBreaker.Fallback.LAST_VALUE;
+
+    return new CircuitBreaker.Settings(
+        plugin.getConfig().getDouble("circuit_breaker.failure_rate", 0.5),
+        plugin.getConfig().getLong("circuit_breaker.slow_call_millis", 50),
+        plugin.getConfig().getLong("circuit_breaker.minimum_requests", 20),
+        plugin.getConfig().getLong("circuit_breaker.window_seconds", 10) * 1000,
+        plugin.getConfig().getLong("circuit_breaker.cooldown_seconds", 30) * 1000,
+        fallback,
+        plugin.getConfig().getLong("circuit_breaker.last_values", 1000));
+  }
+
+  public boolean isMetricsExporterEnabled() {
+    return plugin.getConfig().getBoolean("metrics_exporter.enabled", false);
+  }
+
+  @NotNull
+  public String metricsExporterHost() {
+    //noinspection ConstantConditions (bad spigot annotation)
+    return plugin.getConfig().getString("metrics_exporter.host", "127.0.0.1");
+  }
+
+  public int metricsExporterPort() {
+    return plugin.getConfig().getInt("metrics_exporter.port", 9226);
+  }
+
 }
@@ -0,0 +1,88 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.events;
+
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.expansion.manager.CircuitBreaker;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This event indicates that the circuit breaker of a
+ * {@link PlaceholderExpansion PlaceholderExpansion} changed state, such as when it opened because
+ * the expansion kept failing, and its placeholders are served from the fallback.
+ *
+ * <p>The event is called on the next tick after the change, the breaker may have changed state
+ * again in the meantime.
+ */
+public final class ExpansionCircuitBreakerEvent extends Event {
+
+  @NotNull
+  private static final HandlerList HANDLERS = new HandlerList();
+
+  @NotNull
+  private final PlaceholderExpansion expansion;
+  @NotNull
+  private final CircuitBreaker.State previous;
+  @NotNull
+  private final CircuitBreaker.State state;
+
+  public ExpansionCircuitBreakerEvent(@NotNull final PlaceholderExpansion expansion,
+      @NotNull final CircuitBreaker.State previous, @NotNull final CircuitBreaker.State state) {
+    this.expansion = expansion;
+    this.previous = previous;
+    this.state = state;
+  }
+
+  @NotNull
+  public static HandlerList getHandlerList() {
+    return HANDLERS;
+  }
+
+  /**
+   * The {@link PlaceholderExpansion PlaceholderExpansion} guarded by the breaker.
+   *
+   * @return The {@link PlaceholderExpansion PlaceholderExpansion} instance.
+   */
+  @NotNull
+  public PlaceholderExpansion getExpansion() {
+    return expansion;
+  }
+
+  @NotNull
+  public CircuitBreaker.State getPreviousState() {
+    return previous;
+  }
+
+  @NotNull
+  public CircuitBreaker.State getState() {
+    return state;
+  }
+
+  @NotNull
+  @Override
+  public HandlerList getHandlers() {
+    return HANDLERS;
+  }
+
+}
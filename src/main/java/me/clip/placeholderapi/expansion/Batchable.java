@@ -0,0 +1,58 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.clip.placeholderapi.expansion;
+
+import java.util.List;
+import java.util.Map;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Implementing this interface allows {@link me.clip.placeholderapi.expansion.PlaceholderExpansion PlaceholderExpansions}
+ * to resolve several of their placeholders for the same player in a single call, e.g. with one
+ * query to their backing store instead of one per placeholder.
+ * 
+ * <p>When a text or a {@link me.clip.placeholderapi.replacer.PlaceholderTemplate PlaceholderTemplate}
+ * contains more than one placeholder of the expansion, the parameters of all of them are handed
+ * to {@link #onRequestBatch(OfflinePlayer, List)} at once. A single placeholder is still requested
+ * through {@link me.clip.placeholderapi.PlaceholderHook#onRequest(OfflinePlayer, String) onRequest},
+ * and so are relational placeholders.
+ * <h2>Example:</h2>
+ * a scoreboard showing {@code %stats_kills%}, {@code %stats_deaths%} and {@code %stats_kdr%}
+ * results in one call with the parameters {@code [kills, deaths, kdr]}.
+ * 
+ * <p>When the expansion is also {@link Memoizable}, only the parameters whose values are not
+ * cached are requested.
+ */
+public interface Batchable {
+
+  /**
+   * Resolves the values of several placeholders of this expansion for one player.
+   * 
+   * @param player The player to resolve the placeholders for
+   * @param params The distinct parameters of the placeholders, in the order they appear in the text
+   * @return Map of parameters / values. Missing or null values leave their placeholder untouched,
+   *     as a null returned by {@code onRequest} does
+   */
+  @NotNull
+  Map<String, String> onRequestBatch(@Nullable OfflinePlayer player, @NotNull List<String> params);
+}
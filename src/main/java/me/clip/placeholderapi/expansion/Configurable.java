@@ -21,6 +21,7 @@
 package me.clip.placeholderapi.expansion;
 
 import java.util.Map;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Implementing this interface allows {@link me.clip.placeholderapi.expansion.PlaceholderExpansion PlaceholderExpansions}
@@ -54,4 +55,16 @@ public interface Configurable {
    * config.yml file
    */
   Map<String, Object> getDefaults();
+
+  /**
+   * Called whenever the {@link PlaceholderExpansion#getConfigSnapshot() snapshot of the configuration}
+   * of the expansion is replaced: when it is registered, after its defaults were set, and whenever
+   * the config of PlaceholderAPI is reloaded.
+   * <br>Expansions can read their settings into fields here, instead of looking them up on every
+   * request.
+   *
+   * @param config the new snapshot of the configuration of the expansion
+   */
+  default void onConfigReload(@NotNull final ExpansionConfig config) {
+  }
 }
@@ -0,0 +1,156 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable snapshot of the {@link PlaceholderExpansion#getConfigSection() section} of an
+ * expansion in the config.yml of PlaceholderAPI.
+ *
+ * <p>The section is flattened once, every value is then looked up by its full path instead of
+ * walking the sections. The typed getters convert values the same way a
+ * {@link ConfigurationSection} does.
+ */
+public final class ExpansionConfig {
+
+  /**
+   * The snapshot of a missing section, every getter returns the default value.
+   */
+  @NotNull
+  public static final ExpansionConfig EMPTY = new ExpansionConfig(Collections.emptyMap());
+
+  @NotNull
+  private final Map<String, Object> values;
+
+  private ExpansionConfig(@NotNull final Map<String, Object> values) {
+    this.values = values;
+  }
+
+  /**
+   * Takes a snapshot of a section and all of its subsections.
+   *
+   * @param section the section, or null if it is missing
+   * @return the snapshot of the section
+   */
+  @NotNull
+  public static ExpansionConfig of(@Nullable final ConfigurationSection section) {
+    return section == null ? EMPTY : of(section.getValues(true));
+  }
+
+  /**
+   * Takes a snapshot of values keyed by their full path, e.g. {@code time.days}.
+   *
+   * @param values the values
+   * @return the snapshot of the values
+   */
+  @NotNull
+  public static ExpansionConfig of(@NotNull final Map<String, ?> values) {
+    if (values.isEmpty()) {
+      return EMPTY;
+    }
+
+    final Map<String, Object> copy = new HashMap<>(values.size());
+    for (final Map.Entry<String, ?> entry : values.entrySet()) {
+      final Object value = entry.getValue();
+      if (entry.getKey() == null || value == null) {
+        continue;
+      }
+
+      copy.put(entry.getKey(), value instanceof List
+          ? Collections.unmodifiableList(new ArrayList<>((List<?>) value)) : value);
+    }
+
+    return new ExpansionConfig(copy);
+  }
+
+  @Nullable
+  @Contract("_, !null -> !null")
+  public Object get(@NotNull final String path, @Nullable final Object def) {
+    final Object value = values.get(path);
+    return value == null ? def : value;
+  }
+
+  public int getInt(@NotNull final String path, final int def) {
+    final Object value = values.get(path);
+    return value instanceof Number ? ((Number) value).intValue() : def;
+  }
+
+  public long getLong(@NotNull final String path, final long def) {
+    final Object value = values.get(path);
+    return value instanceof Number ? ((Number) value).longValue() : def;
+  }
+
+  public double getDouble(@NotNull final String path, final double def) {
+    final Object value = values.get(path);
+    return value instanceof Number ? ((Number) value).doubleValue() : def;
+  }
+
+  @Nullable
+  @Contract("_, !null -> !null")
+  public String getString(@NotNull final String path, @Nullable final String def) {
+    final Object value = values.get(path);
+    return value == null ? def : value.toString();
+  }
+
+  public boolean getBoolean(@NotNull final String path, final boolean def) {
+    final Object value = values.get(path);
+    return value instanceof Boolean ? (Boolean) value : def;
+  }
+
+  /**
+   * The list at the provided path, with its strings and primitives converted to strings.
+   *
+   * @param path the path of the list
+   * @return the list, or an empty list if there is none at the path
+   */
+  @NotNull
+  public List<String> getStringList(@NotNull final String path) {
+    final Object value = values.get(path);
+    if (!(value instanceof List)) {
+      return Collections.emptyList();
+    }
+
+    final List<String> list = new ArrayList<>();
+    for (final Object element : (List<?>) value) {
+      if (element instanceof String || element instanceof Boolean
+          || element instanceof Character || element instanceof Number) {
+        list.add(String.valueOf(element));
+      }
+    }
+
+    return list;
+  }
+
+  public boolean contains(@NotNull final String path) {
+    return values.containsKey(path);
+  }
+
+}
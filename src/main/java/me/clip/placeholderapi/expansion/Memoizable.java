@@ -0,0 +1,63 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion;
+
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Implementing this interface allows {@link me.clip.placeholderapi.expansion.PlaceholderExpansion PlaceholderExpansions}
+ * to have the values returned by {@link me.clip.placeholderapi.PlaceholderHook#onRequest(org.bukkit.OfflinePlayer, String) onRequest}
+ * cached by PlaceholderAPI for a limited time.
+ * 
+ * <p>Values are cached per player and parameters. Requests for parameters that do not match any of
+ * the patterns returned by {@link #getCacheDurations()} are never cached.
+ * <h2>Example:</h2>
+ * returning a Map with key {@code balance(_.*)?} and value {@code 1000} will cache
+ * {@code %myexpansion_balance%} and {@code %myexpansion_balance_formatted%} for one second.
+ * 
+ * <p>Cached values of a player are dropped when they leave the server, and all cached values are
+ * dropped when the expansion is unregistered.
+ */
+public interface Memoizable {
+
+  /**
+   * The patterns of parameters to cache and for how long, in milliseconds.
+   * 
+   * <p>The keys are regular expressions which must match the whole parameters. When several
+   * patterns match, the first one in the iteration order of the map is used.
+   *
+   * @return Map of parameter patterns / durations in milliseconds
+   */
+  @NotNull
+  Map<String, Long> getCacheDurations();
+
+  /**
+   * The maximum amount of values kept in the cache of this expansion. The least recently used
+   * values are dropped once the cache is full.
+   *
+   * @return the maximum size of the cache
+   */
+  default long getMaximumCacheSize() {
+    return 1_000;
+  }
+}
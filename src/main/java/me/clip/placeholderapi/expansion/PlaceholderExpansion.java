@@ -48,6 +48,9 @@ public abstract class PlaceholderExpansion extends PlaceholderHook {
   @ApiStatus.Internal
   protected Type expansionType = Type.INTERNAL;
 
+  @Nullable
+  private volatile ExpansionConfig configSnapshot;
+
   /**
    * The placeholder identifier of this expansion. May not contain {@literal %},
    * {@literal {}} or _
@@ -202,6 +205,38 @@ public abstract class PlaceholderExpansion extends PlaceholderHook {
     return getPlaceholderAPI().getConfig().getConfigurationSection("expansions." + getIdentifier());
   }
   
+  /**
+   * Gets the snapshot of the {@link #getConfigSection() ConfigurationSection} of the expansion.
+   * <br>It is taken when the expansion is registered and replaced whenever the config of
+   * PlaceholderAPI is reloaded, {@link Configurable} expansions are notified through
+   * {@link Configurable#onConfigReload(ExpansionConfig)}. The getters of this class, such as
+   * {@link #getInt(String, int)}, read from it.
+   *
+   * @return the snapshot of the configuration of the expansion
+   */
+  @NotNull
+  public final ExpansionConfig getConfigSnapshot() {
+    ExpansionConfig snapshot = configSnapshot;
+    if (snapshot == null) {
+      snapshot = ExpansionConfig.of(getConfigSection());
+      configSnapshot = snapshot;
+    }
+    return snapshot;
+  }
+
+  /**
+   * Replaces the {@link #getConfigSnapshot() snapshot of the configuration} of the expansion.
+   */
+  @ApiStatus.Internal
+  public final void reloadConfigSnapshot() {
+    final ExpansionConfig snapshot = ExpansionConfig.of(getConfigSection());
+    configSnapshot = snapshot;
+
+    if (this instanceof Configurable) {
+      ((Configurable) this).onConfigReload(snapshot);
+    }
+  }
+
   /**
    * Gets the ConfigurationSection relative to the {@link #getConfigSection() default one} set
    * by the expansion or null when the default ConfigurationSection is null
@@ -226,8 +261,7 @@ public abstract class PlaceholderExpansion extends PlaceholderHook {
   @Nullable
   @Contract("_, !null -> !null")
   public final Object get(@NotNull final String path, final Object def) {
-    final ConfigurationSection section = getConfigSection();
-    return section == null ? def : section.get(path, def);
+    return getConfigSnapshot().get(path, def);
   }
   
   /**
@@ -239,8 +273,7 @@ public abstract class PlaceholderExpansion extends PlaceholderHook {
    * @return int from the provided path or the default one provided
    */
   public final int getInt(@NotNull final String path, final int def) {
-    final ConfigurationSection section = getConfigSection();
-    return section == null ? def : section.getInt(path, def);
+    return getConfigSnapshot().getInt(path, def);
   }
   
   /**
@@ -252,8 +285,7 @@ public abstract class PlaceholderExpansion extends PlaceholderHook {
    * @return long from the provided path or the default one provided
    */
   public final long getLong(@NotNull final String path, final long def) {
-    final ConfigurationSection section = getConfigSection();
-    return section == null ? def : section.getLong(path, def);
+    return getConfigSnapshot().getLong(path, def);
   }
   
   /**
@@ -265,8 +297,7 @@ public abstract class PlaceholderExpansion extends PlaceholderHook {
    * @return double from the provided path or the default one provided
    */
   public final double getDouble(@NotNull final String path, final double def) {
-    final ConfigurationSection section = getConfigSection();
-    return section == null ? def : section.getDouble(path, def);
+    return getConfigSnapshot().getDouble(path, def);
   }
   
   /**
@@ -280,8 +311,7 @@ public abstract class PlaceholderExpansion extends PlaceholderHook {
   @Nullable
   @Contract("_, !null -> !null")
   public final String getString(@NotNull final String path, @Nullable final String def) {
-    final ConfigurationSection section = getConfigSection();
-    return section == null ? def : section.getString(path, def);
+    return getConfigSnapshot().getString(path, def);
   }
   
   /**
@@ -293,8 +323,7 @@ public abstract class PlaceholderExpansion extends PlaceholderHook {
    */
   @NotNull
   public final List<String> getStringList(@NotNull final String path) {
-    final ConfigurationSection section = getConfigSection();
-    return section == null ? Collections.emptyList() : section.getStringList(path);
+    return getConfigSnapshot().getStringList(path);
   }
   
   /**
@@ -306,8 +335,7 @@ public abstract class PlaceholderExpansion extends PlaceholderHook {
    * @return boolean from the provided path or the default one provided
    */
   public final boolean getBoolean(@NotNull final String path, final boolean def) {
-    final ConfigurationSection section = getConfigSection();
-    return section == null ? def : section.getBoolean(path, def);
+    return getConfigSnapshot().getBoolean(path, def);
   }
 
   /**
@@ -319,8 +347,7 @@ public abstract class PlaceholderExpansion extends PlaceholderHook {
    * @return true when the default ConfigurationSection is not null and contains the path, false otherwise
    */
   public final boolean configurationContains(@NotNull final String path) {
-    final ConfigurationSection section = getConfigSection();
-    return section != null && section.contains(path);
+    return getConfigSnapshot().contains(path);
   }
 
   /**
@@ -0,0 +1,42 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.internal;
+
+import java.util.Map;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Implemented by internal expansions which keep statistics worth showing to server owners, such as
+ * the efficiency of their caches. The statistics are listed by {@code /papi info <expansion>}.
+ */
+@ApiStatus.Internal
+public interface StatisticsProvider {
+
+  /**
+   * The current statistics of this expansion, in display order.
+   *
+   * @return Map of statistic names / values
+   */
+  @NotNull
+  Map<String, Object> getStatistics();
+}
@@ -19,30 +19,42 @@
  */
 package me.clip.placeholderapi.expansion.internal.formatter;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import me.clip.placeholderapi.expansion.internal.formatter.formatters.IFormatter;
 import me.clip.placeholderapi.expansion.internal.formatter.formatters.number.NumberFormatter;
 import me.clip.placeholderapi.expansion.internal.formatter.formatters.text.TextFormatter;
+import me.clip.placeholderapi.expansion.internal.formatter.utils.NumberFormats;
 import me.clip.placeholderapi.expansion.internal.formatter.utils.StringUtils;
 import me.clip.placeholderapi.expansion.internal.formatter.utils.logging.CachedWarnHelper;
 import me.clip.placeholderapi.PlaceholderAPI;
+import me.clip.placeholderapi.expansion.Cacheable;
 import me.clip.placeholderapi.expansion.Configurable;
+import me.clip.placeholderapi.expansion.ExpansionConfig;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
 
 import javax.annotation.Nonnull;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
-public class FormatterExpansion extends PlaceholderExpansion implements Configurable {
+public class FormatterExpansion extends PlaceholderExpansion implements Configurable, Cacheable {
 
     private final Map<String, Object> defaults = new HashMap<>();
-    private final List<IFormatter> formatters;
+    private final Map<String, IFormatter> formatters;
+    private final NumberFormats numberFormats = new NumberFormats();
+    // replaced whenever the config snapshot is
+    private volatile FormatterSettings settings = FormatterSettings.DEFAULTS;
+
+    // dispatch plans, keyed by the identifier before its brackets are resolved
+    private final Cache<String, Plan> plans = CacheBuilder.newBuilder()
+            .maximumSize(512)
+            .build();
 
     public FormatterExpansion() {
         loadDefaults();
-        this.formatters = Arrays.asList(
+        this.formatters = IFormatter.byName(
                 new NumberFormatter(this),
                 new TextFormatter(this));
     }
@@ -70,41 +82,66 @@ public class FormatterExpansion extends PlaceholderExpansion implements Configur
         return defaults;
     }
 
+    @Override
+    public void onConfigReload(@Nonnull ExpansionConfig config) {
+        this.settings = new FormatterSettings(config);
+    }
+
     @Override
     public String onRequest(OfflinePlayer player, @Nonnull String identifier) {
         String raw = "%formatter_" + identifier + "%";
+
+        Plan plan = plans.getIfPresent(identifier);
+        if (plan == null) {
+            plan = Plan.compile(identifier, formatters);
+            plans.put(identifier, plan);
+        }
+
+        if (plan != Plan.NONE) {
+            // only the values can contain brackets, the type and option were resolved by the plan
+            String values = PlaceholderAPI.setBracketPlaceholders(player, identifier.substring(plan.valuesStart));
+            if (values.isEmpty()) {
+                warnFormat(raw);
+                return null;
+            }
+
+            return plan.formatter == null ? null : plan.formatter.parse(raw, plan.option, values.split("_"));
+        }
+
         identifier = PlaceholderAPI.setBracketPlaceholders(player, identifier);
         String[] temp = StringUtils.getSplit(identifier, "_", 3);
 
         if (StringUtils.isNullOrEmpty(temp[0], temp[1], temp[2])) {
-            CachedWarnHelper.warn(this, raw,
-                    "Placeholder needs to be of format '%formatter_<type>_<option>_<values>%'");
+            warnFormat(raw);
             return null;
         }
 
-        for (IFormatter formatter : formatters) {
-            if (formatter.name().equalsIgnoreCase(temp[0]))
-                return formatter.parse(raw, temp[1], temp[2].split("_"));
-        }
+        IFormatter formatter = formatters.get(temp[0].toLowerCase(Locale.ROOT));
+        if (formatter != null)
+            return formatter.parse(raw, temp[1], temp[2].split("_"));
 
         CachedWarnHelper.warn(this, raw, "Unknown placeholder type '" + temp[0] + "'.");
         return null;
     }
 
-    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-    public boolean isCondensed() {
-        Object condensed = this.get("time.condensed", null);
-
-        if (condensed == null)
-            return false;
+    private void warnFormat(String raw) {
+        CachedWarnHelper.warn(this, raw,
+                "Placeholder needs to be of format '%formatter_<type>_<option>_<values>%'");
+    }
 
-        if (condensed instanceof String condensedString)
-            return condensedString.equalsIgnoreCase("yes");
+    @Override
+    public void clear() {
+        // the expansion is unregistered whenever the config is reloaded
+        numberFormats.invalidate();
+        plans.invalidateAll();
+    }
 
-        if (condensed instanceof Boolean condensedBool)
-            return condensedBool;
+    public NumberFormats getNumberFormats() {
+        return numberFormats;
+    }
 
-        return false;
+    public FormatterSettings getSettings() {
+        return settings;
     }
 
     private void loadDefaults() {
@@ -127,4 +164,40 @@ public class FormatterExpansion extends PlaceholderExpansion implements Configur
         defaults.put("rounding.precision", 0);
         defaults.put("rounding.mode", "half-up");
     }
+
+    /**
+     * The static part of a placeholder: its type and option, and the formatter they resolve to.
+     * Placeholders with brackets in their type or option have no plan, as they may resolve differently
+     * on every request.
+     */
+    private static final class Plan {
+
+        private static final Plan NONE = new Plan(null, null, 0);
+
+        private final IFormatter formatter;
+        private final String option;
+        private final int valuesStart;
+
+        private Plan(IFormatter formatter, String option, int valuesStart) {
+            this.formatter = formatter;
+            this.option = option;
+            this.valuesStart = valuesStart;
+        }
+
+        private static Plan compile(String identifier, Map<String, IFormatter> formatters) {
+            int typeEnd = identifier.indexOf('_');
+            int optionEnd = typeEnd == -1 ? -1 : identifier.indexOf('_', typeEnd + 1);
+
+            if (optionEnd == -1 || typeEnd == 0 || optionEnd == typeEnd + 1
+                    || identifier.lastIndexOf('{', optionEnd) != -1)
+                return NONE;
+
+            IFormatter type = formatters.get(identifier.substring(0, typeEnd).toLowerCase(Locale.ROOT));
+            if (type == null)
+                return NONE;
+
+            String option = identifier.substring(typeEnd + 1, optionEnd);
+            return new Plan(type.resolve(option), option, optionEnd + 1);
+        }
+    }
 }
@@ -0,0 +1,106 @@
+/**
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.clip.placeholderapi.expansion.internal.formatter;
+
+import me.clip.placeholderapi.expansion.ExpansionConfig;
+
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The settings of the formatter expansion, read once from a snapshot of its config.
+ */
+public final class FormatterSettings {
+
+    static final FormatterSettings DEFAULTS = new FormatterSettings(ExpansionConfig.EMPTY);
+
+    private final String formatLocale;
+    private final String formatPattern;
+    private final NavigableMap<Long, String> shortenSuffixes;
+    // indexed by the ordinal of the time units
+    private final String[] timeSuffixes = new String[TimeUnit.values().length];
+    private final boolean condensed;
+    private final int roundingPrecision;
+    private final String roundingMode;
+
+    FormatterSettings(ExpansionConfig config) {
+        this.formatLocale = config.getString("formatting.locale", "en-US");
+        this.formatPattern = config.getString("formatting.pattern", "#,###,###.##");
+
+        TreeMap<Long, String> suffixes = new TreeMap<>();
+        suffixes.put(1_000L, config.getString("shorten.thousands", "K"));
+        suffixes.put(1_000_000L, config.getString("shorten.millions", "M"));
+        suffixes.put(1_000_000_000L, config.getString("shorten.billions", "B"));
+        suffixes.put(1_000_000_000_000L, config.getString("shorten.trillions", "T"));
+        suffixes.put(1_000_000_000_000_000L, config.getString("shorten.quadrillions", "Q"));
+        this.shortenSuffixes = Collections.unmodifiableNavigableMap(suffixes);
+
+        timeSuffixes[TimeUnit.MILLISECONDS.ordinal()] = config.getString("time.milliseconds", "ms");
+        timeSuffixes[TimeUnit.SECONDS.ordinal()] = config.getString("time.seconds", "s");
+        timeSuffixes[TimeUnit.MINUTES.ordinal()] = config.getString("time.minutes", "m");
+        timeSuffixes[TimeUnit.HOURS.ordinal()] = config.getString("time.hours", "h");
+        timeSuffixes[TimeUnit.DAYS.ordinal()] = config.getString("time.days", "d");
+
+        Object condensed = config.get("time.condensed", null);
+        if (condensed instanceof String condensedString)
+            this.condensed = condensedString.equalsIgnoreCase("yes");
+        else
+            this.condensed = condensed instanceof Boolean condensedBool && condensedBool;
+
+        this.roundingPrecision = config.getInt("rounding.precision", 0);
+        this.roundingMode = config.getString("rounding.mode", "half-up");
+    }
+
+    public String getFormatLocale() {
+        return formatLocale;
+    }
+
+    public String getFormatPattern() {
+        return formatPattern;
+    }
+
+    public NavigableMap<Long, String> getShortenSuffixes() {
+        return shortenSuffixes;
+    }
+
+    /**
+     * The suffix of a time unit, e.g. {@code d} for days.
+     *
+     * @param unit the time unit, from milliseconds to days
+     * @return the suffix of the time unit, or null for smaller units
+     */
+    public String getTimeSuffix(TimeUnit unit) {
+        return timeSuffixes[unit.ordinal()];
+    }
+
+    public boolean isCondensed() {
+        return condensed;
+    }
+
+    public int getRoundingPrecision() {
+        return roundingPrecision;
+    }
+
+    public String getRoundingMode() {
+        return roundingMode;
+    }
+}
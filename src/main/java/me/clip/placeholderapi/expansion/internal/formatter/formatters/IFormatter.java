@@ -19,8 +19,38 @@
  */
 package me.clip.placeholderapi.expansion.internal.formatter.formatters;
 
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Locale;
+import java.util.Map;
+
 public interface IFormatter{
     String name();
     
     String parse(String raw, String option, String... values);
+    
+    /**
+     * Resolves the formatter which {@link #parse(String, String, String...) parse} hands the provided
+     * option to, so callers can remember it instead of dispatching on every call.
+     *
+     * @param option the option of the placeholder
+     * @return the formatter handling the option, or null if the option is unknown
+     */
+    default IFormatter resolve(String option){
+        return this;
+    }
+    
+    /**
+     * Indexes the provided formatters by their lowercase name.
+     *
+     * @param formatters the formatters
+     * @return Map of lowercase names / formatters
+     */
+    static Map<String, IFormatter> byName(IFormatter... formatters){
+        ImmutableMap.Builder<String, IFormatter> builder = ImmutableMap.builder();
+        for(IFormatter formatter : formatters)
+            builder.put(formatter.name().toLowerCase(Locale.ROOT), formatter);
+        
+        return builder.build();
+    }
 }
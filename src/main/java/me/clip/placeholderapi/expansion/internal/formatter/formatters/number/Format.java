@@ -26,9 +26,6 @@ import me.clip.placeholderapi.expansion.internal.formatter.utils.StringUtils;
 import me.clip.placeholderapi.expansion.internal.formatter.utils.logging.CachedWarnHelper;
 
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.util.Locale;
 
 public class Format implements IFormatter{
     
@@ -45,8 +42,8 @@ public class Format implements IFormatter{
     
     @Override
     public String parse(String raw, String option, String... values){
-        String locale = expansion.getString("formatting.locale", "en-US");
-        String pattern = expansion.getString("formatting.pattern", "#,###,###.##");
+        String locale = expansion.getSettings().getFormatLocale();
+        String pattern = expansion.getSettings().getFormatPattern();
         
         // %formatter_number_format_<number>%
         if(values.length == 1 || !values[0].contains(":"))
@@ -71,28 +68,6 @@ public class Format implements IFormatter{
             return null;
         }
         
-        Locale loc = getLocale(locale);
-        NumberFormat numberFormat = NumberFormat.getNumberInstance(loc);
-        DecimalFormat decimalFormat = (DecimalFormat)numberFormat;
-        
-        decimalFormat.applyPattern(format);
-        
-        return decimalFormat.format(decimal);
-    }
-    
-    private Locale getLocale(String input){
-        if(input.contains("-")){
-            String[] args = StringUtils.getSplit(input, "-", 2);
-            if(!StringUtils.isNullOrEmpty(args[0], args[1])){
-                return new Locale(args[0], args[1]);
-            }else
-            if(!StringUtils.isNullOrEmpty(args[0])){
-                return new Locale(args[0]);
-            }else{
-                return Locale.US;
-            }
-        }else{
-            return new Locale(input);
-        }
+        return expansion.getNumberFormats().get(locale, format).format(decimal);
     }
 }
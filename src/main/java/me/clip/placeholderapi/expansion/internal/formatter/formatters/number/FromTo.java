@@ -105,15 +105,15 @@ public class FromTo implements IFormatter {
 
         switch (toUnit) {
             case DAYS:
-                return finalNumber + expansion.getString("time.days", "d");
+                return finalNumber + expansion.getSettings().getTimeSuffix(TimeUnit.DAYS);
             case HOURS:
-                return finalNumber + expansion.getString("time.hours", "h");
+                return finalNumber + expansion.getSettings().getTimeSuffix(TimeUnit.HOURS);
             case MINUTES:
-                return finalNumber + expansion.getString("time.minutes", "m");
+                return finalNumber + expansion.getSettings().getTimeSuffix(TimeUnit.MINUTES);
             case SECONDS:
-                return finalNumber + expansion.getString("time.seconds", "s");
+                return finalNumber + expansion.getSettings().getTimeSuffix(TimeUnit.SECONDS);
             case MILLISECONDS:
-                return finalNumber + expansion.getString("time.milliseconds", "ms");
+                return finalNumber + expansion.getSettings().getTimeSuffix(TimeUnit.MILLISECONDS);
             default:
                 CachedWarnHelper.warn(expansion, "unknown-to-time", raw, "Unknown target time unit '" + to + "'.");
                 return null;
@@ -22,17 +22,16 @@ package me.clip.placeholderapi.expansion.internal.formatter.formatters.number;
 import me.clip.placeholderapi.expansion.internal.formatter.FormatterExpansion;
 import me.clip.placeholderapi.expansion.internal.formatter.formatters.IFormatter;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public class NumberFormatter implements IFormatter{
     
-    private final List<IFormatter> subFormatters;
+    private final Map<String, IFormatter> subFormatters;
     private final FromTo fromToFormatter;
     
     public NumberFormatter(FormatterExpansion expansion){
-        this.subFormatters = Arrays.asList(
+        this.subFormatters = IFormatter.byName(
             new Format(expansion),
             new Round(expansion),
             new Shorten(expansion),
@@ -48,15 +47,19 @@ public class NumberFormatter implements IFormatter{
     
     @Override
     public String parse(String raw, String option, String... values){
-        if(option.toLowerCase(Locale.ROOT).startsWith("from:")){
-            return fromToFormatter.parse(raw, option, values);
-        }
-            
-        for(IFormatter subFormatter : subFormatters){
-            if(subFormatter.name().equalsIgnoreCase(option))
-                return subFormatter.parse(raw, option, values);
-        }
+        IFormatter subFormatter = resolve(option);
+        if(subFormatter == null)
+            return null;
         
-        return null;
+        return subFormatter.parse(raw, option, values);
+    }
+    
+    @Override
+    public IFormatter resolve(String option){
+        String lowercase = option.toLowerCase(Locale.ROOT);
+        if(lowercase.startsWith("from:"))
+            return fromToFormatter;
+        
+        return subFormatters.get(lowercase);
     }
 }
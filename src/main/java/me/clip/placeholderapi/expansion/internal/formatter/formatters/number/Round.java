@@ -45,8 +45,8 @@ public class Round implements IFormatter{
     
     @Override
     public String parse(String raw, String option, String... values){
-        int precision = expansion.getInt("rounding.precision", 0);
-        String rounding = expansion.getString("rounding.mode", "half-up");
+        int precision = expansion.getSettings().getRoundingPrecision();
+        String rounding = expansion.getSettings().getRoundingMode();
         
         if(values.length == 1)
             return roundNumber(raw, values[0], precision, rounding);
@@ -25,21 +25,13 @@ import me.clip.placeholderapi.expansion.internal.formatter.utils.NumberUtils;
 import me.clip.placeholderapi.expansion.internal.formatter.utils.logging.CachedWarnHelper;
 
 import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
 
 public class Shorten implements IFormatter{
     
     private final FormatterExpansion expansion;
-    private final NavigableMap<Long, String> suffixes = new TreeMap<>();
     
     public Shorten(FormatterExpansion expansion){
         this.expansion = expansion;
-        suffixes.put(1_000L, expansion.getString("shorten.thousands", "K"));
-        suffixes.put(1_000_000L, expansion.getString("shorten.millions", "M"));
-        suffixes.put(1_000_000_000L, expansion.getString("shorten.billions", "B"));
-        suffixes.put(1_000_000_000_000L, expansion.getString("shorten.trillions", "T"));
-        suffixes.put(1_000_000_000_000_000L, expansion.getString("shorten.quadrillions", "Q"));
     }
     
     @Override
@@ -71,7 +63,7 @@ public class Shorten implements IFormatter{
         if(value < 1000)
             return Long.toString(value);
         
-        Map.Entry<Long, String> entry = suffixes.floorEntry(value);
+        Map.Entry<Long, String> entry = expansion.getSettings().getShortenSuffixes().floorEntry(value);
         long divideBy = entry.getKey();
         String suffix = entry.getValue();
         
@@ -20,6 +20,7 @@
 package me.clip.placeholderapi.expansion.internal.formatter.formatters.number;
 
 import me.clip.placeholderapi.expansion.internal.formatter.FormatterExpansion;
+import me.clip.placeholderapi.expansion.internal.formatter.FormatterSettings;
 import me.clip.placeholderapi.expansion.internal.formatter.formatters.IFormatter;
 import me.clip.placeholderapi.expansion.internal.formatter.utils.NumberUtils;
 import me.clip.placeholderapi.expansion.internal.formatter.utils.StringUtils;
@@ -64,7 +65,8 @@ public class Time implements IFormatter{
         
         long days = 0, hours = 0, minutes = 0, seconds = 0, milliseconds = 0;
         
-        final StringJoiner joiner = new StringJoiner(expansion.isCondensed() ? "" : " ");
+        final FormatterSettings settings = expansion.getSettings();
+        final StringJoiner joiner = new StringJoiner(settings.isCondensed() ? "" : " ");
     
         switch(timeUnit){
             case HOURS -> {
@@ -92,19 +94,19 @@ public class Time implements IFormatter{
         }
         
         if(days > 0)
-            joiner.add(days + expansion.getString("time.days", "d"));
+            joiner.add(days + settings.getTimeSuffix(TimeUnit.DAYS));
         
         if(hours > 0)
-            joiner.add(hours + expansion.getString("time.hours", "h"));
+            joiner.add(hours + settings.getTimeSuffix(TimeUnit.HOURS));
         
         if(minutes > 0)
-            joiner.add(minutes + expansion.getString("time.minutes", "m"));
+            joiner.add(minutes + settings.getTimeSuffix(TimeUnit.MINUTES));
         
         if(seconds > 0)
-            joiner.add(seconds + expansion.getString("time.seconds", "s"));
+            joiner.add(seconds + settings.getTimeSuffix(TimeUnit.SECONDS));
         
         if(milliseconds > 0)
-            joiner.add(milliseconds + expansion.getString("time.milliseconds", "ms"));
+            joiner.add(milliseconds + settings.getTimeSuffix(TimeUnit.MILLISECONDS));
         
         return joiner.toString();
     }
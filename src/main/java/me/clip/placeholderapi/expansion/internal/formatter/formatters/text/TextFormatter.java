@@ -22,15 +22,15 @@ package me.clip.placeholderapi.expansion.internal.formatter.formatters.text;
 import me.clip.placeholderapi.expansion.internal.formatter.FormatterExpansion;
 import me.clip.placeholderapi.expansion.internal.formatter.formatters.IFormatter;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class TextFormatter implements IFormatter{
     
-    private final List<IFormatter> subFormatters;
+    private final Map<String, IFormatter> subFormatters;
     
     public TextFormatter(FormatterExpansion expansion){
-        this.subFormatters = Arrays.asList(
+        this.subFormatters = IFormatter.byName(
             new Length(),
             new Lowercase(),
             new Replace(expansion),
@@ -46,11 +46,15 @@ public class TextFormatter implements IFormatter{
     
     @Override
     public String parse(String raw, String option, String... values){
-        for(IFormatter subFormatter : subFormatters){
-            if(subFormatter.name().equalsIgnoreCase(option))
-                return subFormatter.parse(raw, option, values);
-        }
+        IFormatter subFormatter = resolve(option);
+        if(subFormatter == null)
+            return null;
         
-        return null;
+        return subFormatter.parse(raw, option, values);
+    }
+    
+    @Override
+    public IFormatter resolve(String option){
+        return subFormatters.get(option.toLowerCase(Locale.ROOT));
     }
 }
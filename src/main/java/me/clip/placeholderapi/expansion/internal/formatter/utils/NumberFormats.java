@@ -0,0 +1,128 @@
+/**
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.clip.placeholderapi.expansion.internal.formatter.utils;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reuses {@link DecimalFormat} instances, which are expensive to create and not thread safe.
+ *
+ * <p>Every thread keeps its own formats, keyed by the locale and pattern they were created from.
+ * The formats returned by {@link #get(String, String)} must therefore never be shared with other threads.
+ */
+public class NumberFormats{
+    
+    private static final int MAX_LOCALES = 64;
+    private static final int MAX_PATTERNS = 64;
+    
+    private final Map<String, Locale> locales = new ConcurrentHashMap<>();
+    private final ThreadLocal<Formats> formats = ThreadLocal.withInitial(Formats::new);
+    private final AtomicInteger generation = new AtomicInteger();
+    
+    /**
+     * Returns a format of the provided locale and pattern, owned by the calling thread.
+     *
+     * @param locale the locale, as {@code language} or {@code language-country}
+     * @param pattern the pattern of the format
+     * @return the format
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public DecimalFormat get(String locale, String pattern){
+        Formats cached = formats.get();
+        
+        int current = generation.get();
+        if(cached.generation != current){
+            cached.clear();
+            cached.generation = current;
+        }
+        
+        Map<String, DecimalFormat> byPattern = cached.get(locale);
+        if(byPattern == null){
+            byPattern = new HashMap<>();
+            if(cached.size() < MAX_LOCALES)
+                cached.put(locale, byPattern);
+        }
+        
+        DecimalFormat format = byPattern.get(pattern);
+        if(format == null){
+            format = (DecimalFormat)NumberFormat.getNumberInstance(getLocale(locale));
+            format.applyPattern(pattern);
+            
+            if(byPattern.size() < MAX_PATTERNS)
+                byPattern.put(pattern, format);
+        }
+        
+        return format;
+    }
+    
+    /**
+     * Parses a locale of the form {@code language} or {@code language-country}.
+     *
+     * @param input the locale to parse
+     * @return the parsed locale
+     */
+    public Locale getLocale(String input){
+        Locale locale = locales.get(input);
+        if(locale != null)
+            return locale;
+        
+        locale = parseLocale(input);
+        if(locales.size() < MAX_LOCALES)
+            locales.put(input, locale);
+        
+        return locale;
+    }
+    
+    /**
+     * Drops all cached formats and locales, on every thread.
+     */
+    public void invalidate(){
+        locales.clear();
+        generation.incrementAndGet();
+    }
+    
+    @SuppressWarnings("deprecation")
+    private static Locale parseLocale(String input){
+        if(input.contains("-")){
+            String[] args = StringUtils.getSplit(input, "-", 2);
+            if(!StringUtils.isNullOrEmpty(args[0], args[1])){
+                return new Locale(args[0], args[1]);
+            }else
+            if(!StringUtils.isNullOrEmpty(args[0])){
+                return new Locale(args[0]);
+            }else{
+                return Locale.US;
+            }
+        }else{
+            return new Locale(input);
+        }
+    }
+    
+    private static final class Formats extends HashMap<String, Map<String, DecimalFormat>>{
+        
+        private int generation;
+    }
+}
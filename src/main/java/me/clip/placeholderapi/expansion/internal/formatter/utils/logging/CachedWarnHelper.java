@@ -19,8 +19,8 @@
  */
 package me.clip.placeholderapi.expansion.internal.formatter.utils.logging;
 
+import me.clip.placeholderapi.PlaceholderAPIPlugin;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import me.clip.placeholderapi.util.Msg;
 
 public class CachedWarnHelper {
 
@@ -29,7 +29,7 @@ public class CachedWarnHelper {
     }
 
     public static void warn(PlaceholderExpansion expansion, String key, String raw, String message) {
-        // Simplified implementation decoupling from complex caching
-        Msg.warn("[FormatterExpansion] " + message + " (Placeholder: " + raw + ")");
+        PlaceholderAPIPlugin.getInstance().getWarnThrottle().warn(expansion.getIdentifier(), key,
+                () -> "[FormatterExpansion] " + message + " (Placeholder: " + raw + ")");
     }
 }
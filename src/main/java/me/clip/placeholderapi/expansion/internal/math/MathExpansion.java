@@ -24,9 +24,14 @@ import com.ezylang.evalex.Expression;
 import com.ezylang.evalex.parser.ParseException;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
 import me.clip.placeholderapi.PlaceholderAPI;
+import me.clip.placeholderapi.PlaceholderAPIPlugin;
 import me.clip.placeholderapi.expansion.Configurable;
+import me.clip.placeholderapi.expansion.ExpansionConfig;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.expansion.internal.StatisticsProvider;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 
@@ -37,14 +42,34 @@ import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 
-public class MathExpansion extends PlaceholderExpansion implements Configurable {
+public class MathExpansion extends PlaceholderExpansion implements Configurable, StatisticsProvider {
 
     private final Map<String, Object> defaults = new HashMap<>();
-    private final Cache<String, Long> invalidPlaceholders = CacheBuilder.newBuilder()
-            .expireAfterWrite(10, TimeUnit.SECONDS)
+
+    // parsed expressions, keyed by the expression text after its brackets were resolved
+    private final Cache<String, Expression> expressions = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .recordStats()
+            .build();
+    // placeholders with brackets, parsed once with their brackets as variables
+    private final Cache<String, MathTemplate> templates = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .build();
+    // templates whose brackets recently did not resolve to numbers, e.g. "N/A" of an offline player
+    private final Cache<String, Boolean> failedTemplates = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .expireAfterWrite(30, TimeUnit.SECONDS)
             .build();
+    private final LongAdder templateEvaluations = new LongAdder();
+
+    // settings, read whenever the config snapshot is replaced
+    private volatile int decimals = 3;
+    private volatile RoundingMode rounding = RoundingMode.HALF_UP;
+    private volatile boolean debug;
+    private volatile boolean warningsDisabled;
 
     public MathExpansion() {
         defaults.put("Decimals", 3);
@@ -77,10 +102,29 @@ public class MathExpansion extends PlaceholderExpansion implements Configurable
         return this.defaults;
     }
 
+    @Override
+    public void onConfigReload(@NotNull ExpansionConfig config) {
+        this.decimals = Math.max(config.getInt("Decimals", 3), 0);
+        this.rounding = parseRoundingMode(config.getString("Rounding", "half-up"));
+        this.warningsDisabled = config.getBoolean("Disable-Warnings", false);
+
+        Object debugMode = config.get("Debug", null);
+        if (debugMode instanceof String)
+            this.debug = ((String) debugMode).equalsIgnoreCase("on");
+        else
+            this.debug = debugMode instanceof Boolean && (Boolean) debugMode;
+    }
+
     @Override
     public String onRequest(OfflinePlayer player, @NotNull String identifier) {
         String placeholder = "%math_" + identifier + "%";
 
+        if (identifier.indexOf('{') != -1) {
+            String result = evaluateTemplate(player, identifier, placeholder);
+            if (result != null)
+                return result;
+        }
+
         // Parse {placeholder} and replace [prc] with % for math expressions.
         String content = PlaceholderAPI.setBracketPlaceholders(player, identifier).replace("[prc]", "%");
 
@@ -106,10 +150,46 @@ public class MathExpansion extends PlaceholderExpansion implements Configurable
         return evaluateExpression(placeholder, values[1], scale, mode);
     }
 
-    private String evaluateExpression(String placeholder, String exp, int scale, RoundingMode roundingMode) {
-        Expression expression = new Expression(exp);
+    private String evaluateTemplate(OfflinePlayer player, String identifier, String placeholder) {
+        if (failedTemplates.getIfPresent(identifier) != null)
+            return null;
+
+        MathTemplate template = templates.getIfPresent(identifier);
+        if (template == null) {
+            template = MathTemplate.compile(identifier);
+            templates.put(identifier, template);
+        }
+
+        if (!template.isUsable())
+            return null;
+
+        String[] options = Arrays.copyOf(template.getOptions() == null ? new String[0] : template.getOptions().split(":", 2), 2);
 
+        int scale = scale(options[0], placeholder);
+        if (scale == -1)
+            return null;
+
+        BigDecimal bd = template.evaluate(player);
+        if (bd == null) {
+            // the brackets did not resolve to plain numbers, stick to textual evaluation for a while
+            failedTemplates.put(identifier, Boolean.TRUE);
+            return null;
+        }
+
+        templateEvaluations.increment();
+        return bd.setScale(scale, roundingMode(options[1])).toPlainString();
+    }
+
+    private String evaluateExpression(String placeholder, String exp, int scale, RoundingMode roundingMode) {
         try {
+            Expression expression = expressions.getIfPresent(exp);
+            if (expression == null) {
+                expression = new Expression(exp);
+                // parse now, evaluating an already parsed expression does not modify it
+                expression.getAbstractSyntaxTree();
+                expressions.put(exp, expression);
+            }
+
             BigDecimal bd = expression.evaluate().getNumberValue();
 
             return bd.setScale(scale, roundingMode).toPlainString();
@@ -125,7 +205,7 @@ public class MathExpansion extends PlaceholderExpansion implements Configurable
 
     private int scale(String value, String placeholder) {
         if (value == null || value.isEmpty())
-            return Math.max(this.getInt("Decimals", 3), 0);
+            return decimals;
 
         try {
             return Integer.parseInt(value);
@@ -140,10 +220,13 @@ public class MathExpansion extends PlaceholderExpansion implements Configurable
     }
 
     private RoundingMode roundingMode(String roundingMode) {
-        String defRoundingMode = this.getString("Rounding", "half-up");
         if (roundingMode == null || roundingMode.isEmpty())
-            roundingMode = defRoundingMode.isEmpty() ? "half-up" : defRoundingMode;
+            return rounding;
+
+        return parseRoundingMode(roundingMode);
+    }
 
+    private static RoundingMode parseRoundingMode(String roundingMode) {
         switch (roundingMode.toLowerCase(Locale.ROOT)) {
             case "up":
                 return RoundingMode.UP;
@@ -168,29 +251,27 @@ public class MathExpansion extends PlaceholderExpansion implements Configurable
         }
     }
 
+    @Override
+    @NotNull
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = expressions.stats();
+
+        return ImmutableMap.of(
+                "Cached expressions", expressions.size(),
+                "Expression cache hit rate", String.format(Locale.ROOT, "%.1f%% (%d hits, %d misses)",
+                        stats.hitRate() * 100, stats.hitCount(), stats.missCount()),
+                "Template evaluations", templateEvaluations.sum());
+    }
+
     private void printPlaceholderWarn(String placeholder, String cause, Object... args) {
-        if (this.getBoolean("Disable-Warnings", false))
+        if (warningsDisabled)
             return;
 
-        if (invalidPlaceholders.getIfPresent(placeholder) == null) {
-            me.clip.placeholderapi.util.Msg.warn("Invalid Placeholder detected: " + placeholder);
-            me.clip.placeholderapi.util.Msg.warn(String.format("Cause: " + cause, args));
-
-            invalidPlaceholders.put(placeholder, System.currentTimeMillis());
-        }
+        PlaceholderAPIPlugin.getInstance().getWarnThrottle().warn(getIdentifier(), placeholder,
+                () -> "Invalid Placeholder detected: " + placeholder + " - Cause: " + String.format(cause, args));
     }
 
     private boolean debugModeEnabled() {
-        Object debugMode = this.get("Debug", null);
-        if (debugMode == null)
-            return false;
-
-        if (debugMode instanceof String)
-            return this.getString("Debug", "off").equalsIgnoreCase("on");
-
-        if (debugMode instanceof Boolean)
-            return this.getBoolean("Debug", false);
-
-        return false;
+        return debug;
     }
 }
@@ -0,0 +1,224 @@
+/**
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.clip.placeholderapi.expansion.internal.math;
+
+import com.ezylang.evalex.EvaluationException;
+import com.ezylang.evalex.Expression;
+import com.ezylang.evalex.parser.ParseException;
+import me.clip.placeholderapi.PlaceholderAPI;
+import me.clip.placeholderapi.replacer.PlaceholderTemplate;
+import me.clip.placeholderapi.replacer.Replacer.Closure;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A math placeholder whose {@code {bracket}} placeholders are parsed as variables of the expression,
+ * so the expression is parsed once and only the values of the variables change between requests.
+ *
+ * <p>Textually inserting a value and binding it as a variable only give the same result when the value
+ * is a plain number and the placeholder is not glued to another number or name. Templates are therefore
+ * only {@link #isUsable() usable} for such texts, and {@link #evaluate(OfflinePlayer)} returns null
+ * whenever a value is not a plain number, in which case the text has to be resolved textually.
+ */
+final class MathTemplate {
+
+    static final MathTemplate UNUSABLE = new MathTemplate(null, null, new String[0], new PlaceholderTemplate[0]);
+    private static final String VARIABLE_PREFIX = "papislot";
+
+    private final String options;
+    private final String expression;
+    private final String[] variables;
+    private final PlaceholderTemplate[] slots;
+
+    // expressions with bound variables are not thread safe, each evaluation borrows one
+    private final Queue<Expression> pool = new ConcurrentLinkedQueue<>();
+
+    private MathTemplate(String options, String expression, String[] variables, PlaceholderTemplate[] slots) {
+        this.options = options;
+        this.expression = expression;
+        this.variables = variables;
+        this.slots = slots;
+    }
+
+    /**
+     * Compiles the parameters of a math placeholder, before its brackets are resolved.
+     *
+     * @param identifier the parameters of the placeholder
+     * @return the template, which is not usable if the parameters do not qualify
+     */
+    @NotNull
+    static MathTemplate compile(@NotNull String identifier) {
+        if (identifier.contains(VARIABLE_PREFIX)) {
+            return UNUSABLE;
+        }
+
+        StringBuilder expression = new StringBuilder(identifier.length());
+        List<PlaceholderTemplate> slots = new ArrayList<>();
+
+        String options = null;
+        int literal = 0;
+
+        for (int i = 0; i < identifier.length(); i++) {
+            char c = identifier.charAt(i);
+
+            // the first underscore outside of brackets separates the options from the expression
+            if (c == '_' && options == null) {
+                if (!slots.isEmpty()) {
+                    return UNUSABLE;
+                }
+
+                options = identifier.substring(0, i).replace("[prc]", "%");
+                literal = i + 1;
+                expression.setLength(0);
+                continue;
+            }
+
+            if (c != '{') {
+                expression.append(c);
+                continue;
+            }
+
+            int close = identifier.indexOf('}', i);
+            if (close == -1 || !isDelimiter(identifier, i - 1, literal) || !isDelimiter(identifier, close + 1, literal)) {
+                return UNUSABLE;
+            }
+
+            for (int j = i + 1; j < close; j++) {
+                char s = identifier.charAt(j);
+                if (s == ' ' || s == '{') {
+                    return UNUSABLE;
+                }
+            }
+
+            expression.append(VARIABLE_PREFIX).append(slots.size());
+            slots.add(PlaceholderAPI.compile(identifier.substring(i, close + 1), Closure.BRACKET));
+            i = close;
+        }
+
+        if (slots.isEmpty() || expression.length() == 0) {
+            return UNUSABLE;
+        }
+
+        String[] variables = new String[slots.size()];
+        for (int i = 0; i < variables.length; i++) {
+            variables[i] = VARIABLE_PREFIX + i;
+        }
+
+        return new MathTemplate(options, expression.toString().replace("[prc]", "%"), variables,
+                slots.toArray(new PlaceholderTemplate[0]));
+    }
+
+    private static boolean isDelimiter(String text, int index, int start) {
+        if (index < start || index >= text.length()) {
+            return true;
+        }
+
+        char c = text.charAt(index);
+        return !Character.isLetterOrDigit(c) && c != '.' && c != '_' && c != '"' && c != '{' && c != '}';
+    }
+
+    /**
+     * Whether the placeholder could be compiled into a template.
+     *
+     * @return true if {@link #evaluate(OfflinePlayer)} may be used
+     */
+    boolean isUsable() {
+        return this != UNUSABLE;
+    }
+
+    /**
+     * The options of the placeholder, in front of the first underscore.
+     *
+     * @return the options, or null if the placeholder has none
+     */
+    @Nullable
+    String getOptions() {
+        return options;
+    }
+
+    /**
+     * Resolves the brackets for the provided player and evaluates the expression.
+     *
+     * @param player the player to resolve the brackets for
+     * @return the result, or null if the expression has to be evaluated textually instead
+     */
+    @Nullable
+    BigDecimal evaluate(OfflinePlayer player) {
+        BigDecimal[] values = new BigDecimal[slots.length];
+
+        for (int i = 0; i < slots.length; i++) {
+            values[i] = parse(slots[i].apply(player));
+            if (values[i] == null) {
+                return null;
+            }
+        }
+
+        Expression borrowed = pool.poll();
+
+        try {
+            if (borrowed == null) {
+                borrowed = new Expression(expression);
+                borrowed.getAbstractSyntaxTree();
+            }
+
+            for (int i = 0; i < variables.length; i++) {
+                borrowed.with(variables[i], values[i]);
+            }
+
+            BigDecimal result = borrowed.evaluate().getNumberValue();
+            pool.offer(borrowed);
+
+            return result;
+        } catch (EvaluationException | ParseException ex) {
+            // the textual evaluation reports the error
+            return null;
+        }
+    }
+
+    // only plain decimal numbers are inserted, anything else is left to the textual evaluation
+    @Nullable
+    private static BigDecimal parse(String value) {
+        int length = value.length();
+        int i = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+        int digits = 0;
+        boolean point = false;
+
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && !point && digits > 0 && i + 1 < length) {
+                point = true;
+            } else {
+                return null;
+            }
+        }
+
+        return digits == 0 ? null : new BigDecimal(value);
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stops requesting the placeholders of an expansion which keeps failing, so a single broken or
+ * blocking expansion cannot slow down every text it appears in.
+ *
+ * <p>Requests are counted in fixed windows, a request fails when it throws or takes longer than
+ * the slow call threshold. Once enough requests of a window failed the breaker opens, and the
+ * placeholders are served from the fallback without calling the expansion. After the cooldown a
+ * single request is let through: the breaker closes if it succeeds, or opens again otherwise.
+ * <br>A request cannot be interrupted, a slow one is only counted once it returned.
+ */
+@ApiStatus.Internal
+public final class CircuitBreaker {
+
+  @NotNull
+  private final Settings settings;
+  @NotNull
+  private final BiConsumer<State, State> listener;
+  @Nullable
+  private final Cache<Key, String> lastValues;
+
+  @NotNull
+  private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+  @NotNull
+  private final AtomicReference<Window> window =
+      new AtomicReference<>(new Window(System.nanoTime()));
+  private volatile long openedAt;
+
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  /**
+   * @param settings the thresholds of the breaker
+   * @param listener called with the previous and the new state on every change of state, from the
+   *     thread which caused it
+   */
+  public CircuitBreaker(@NotNull final Settings settings,
+      @NotNull final BiConsumer<State, State> listener) {
+    this.settings = settings;
+    this.listener = listener;
+    this.lastValues = settings.fallback == Fallback.LAST_VALUE
+        ? CacheBuilder.newBuilder().maximumSize(settings.maximumLastValues).build()
+        : null;
+  }
+
+  /**
+   * Whether the expansion may be requested, if not the value must be taken from
+   * {@link #fallback(UUID, UUID, String)}.
+   */
+  public boolean tryAcquire() {
+    final State current = state.get();
+    if (current == State.CLOSED) {
+      return true;
+    }
+
+    // the request changing the state to half open is the one probing the expansion
+    if (current == State.OPEN && System.nanoTime() - openedAt >= settings.cooldown
+        && transition(State.OPEN, State.HALF_OPEN)) {
+      return true;
+    }
+
+    rejected.increment();
+    return false;
+  }
+
+  /**
+   * Records a request which returned.
+   *
+   * @param nanos how long the request took
+   */
+  public void onSuccess(@Nullable final UUID player, @Nullable final UUID other,
+      @NotNull final String params, @Nullable final String value, final long nanos) {
+    if (lastValues != null && value != null) {
+      lastValues.put(new Key(player, other, params), value);
+    }
+
+    record(nanos >= settings.slowCall);
+  }
+
+  /**
+   * Records a batch request which returned, as a single request of the expansion.
+   *
+   * @param values the values returned for each of the parameters
+   * @param nanos how long the whole batch took
+   */
+  public void onSuccess(@Nullable final UUID player, @NotNull final Map<String, String> values,
+      final long nanos) {
+    if (lastValues != null) {
+      for (final Map.Entry<String, String> entry : values.entrySet()) {
+        if (entry.getValue() != null) {
+          lastValues.put(new Key(player, null, entry.getKey()), entry.getValue());
+        }
+      }
+    }
+
+    record(nanos >= settings.slowCall);
+  }
+
+  /**
+   * Records a request which threw.
+   */
+  public void onFailure() {
+    record(true);
+  }
+
+  /**
+   * The value served while the breaker is open.
+   *
+   * @return the last value returned by the expansion, or null to leave the placeholder as is
+   */
+  @Nullable
+  public String fallback(@Nullable final UUID player, @Nullable final UUID other,
+      @NotNull final String params) {
+    return lastValues == null ? null : lastValues.getIfPresent(new Key(player, other, params));
+  }
+
+  @NotNull
+  public State getState() {
+    return state.get();
+  }
+
+  /**
+   * @return the amount of failed requests since the breaker was created
+   */
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  /**
+   * @return the amount of requests served from the fallback since the breaker was created
+   */
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * Drops the last values remembered for the provided player.
+   */
+  public void evict(@NotNull final UUID uuid) {
+    if (lastValues != null) {
+      lastValues.asMap().keySet()
+          .removeIf(key -> uuid.equals(key.player) || uuid.equals(key.other));
+    }
+  }
+
+  private void record(final boolean failed) {
+    if (failed) {
+      failures.increment();
+    }
+
+    final State current = state.get();
+    if (current == State.HALF_OPEN) {
+      if (failed) {
+        open(State.HALF_OPEN);
+      } else if (transition(State.HALF_OPEN, State.CLOSED)) {
+        window.set(new Window(System.nanoTime()));
+      }
+      return;
+    }
+
+    if (current != State.CLOSED) {
+      return;
+    }
+
+    final Window counted = currentWindow();
+    counted.requests.increment();
+    if (!failed) {
+      return;
+    }
+
+    counted.failures.increment();
+
+    final long requests = counted.requests.sum();
+    if (requests >= settings.minimumRequests
+        && counted.failures.sum() >= settings.failureRate * requests) {
+      open(State.CLOSED);
+    }
+  }
+
+  @NotNull
+  private Window currentWindow() {
+    final long now = System.nanoTime();
+
+    Window current = window.get();
+    while (now - current.start >= settings.window) {
+      final Window next = new Window(now);
+      if (window.compareAndSet(current, next)) {
+        return next;
+      }
+      current = window.get();
+    }
+
+    return current;
+  }
+
+  private void open(@NotNull final State from) {
+    openedAt = System.nanoTime();
+    transition(from, State.OPEN);
+  }
+
+  private boolean transition(@NotNull final State from, @NotNull final State to) {
+    if (!state.compareAndSet(from, to)) {
+      return false;
+    }
+
+    listener.accept(from, to);
+    return true;
+  }
+
+
+  public enum State {
+    /**
+     * The expansion is requested as usual.
+     */
+    CLOSED,
+    /**
+     * The expansion is not requested, its placeholders are served from the fallback.
+     */
+    OPEN,
+    /**
+     * A single request is probing whether the expansion recovered.
+     */
+    HALF_OPEN;
+
+    @NotNull
+    public String getName() {
+      return name().toLowerCase(Locale.ROOT).replace('_', ' ');
+    }
+  }
+
+  public enum Fallback {
+    /**
+     * The last value returned for the same player and parameters, if any.
+     */
+    LAST_VALUE,
+    /**
+     * The placeholder is left as is.
+     */
+    PLACEHOLDER
+  }
+
+  public static final class Settings {
+
+    private final double failureRate;
+    private final long slowCall;
+    private final long minimumRequests;
+    private final long window;
+    private final long cooldown;
+    @NotNull
+    private final Fallback fallback;
+    private final long maximumLastValues;
+
+    /**
+     * @param failureRate the share of failed requests within a window opening the breaker
+     * @param slowCall the duration in milliseconds after which a request counts as failed
+     * @param minimumRequests the amount of requests within a window before it can open the breaker
+     * @param window the duration of a window in milliseconds
+     * @param cooldown the duration in milliseconds the breaker stays open before probing
+     * @param fallback what to serve while the breaker is open
+     * @param maximumLastValues the amount of last values remembered for the fallback
+     */
+    public Settings(final double failureRate, final long slowCall, final long minimumRequests,
+        final long window, final long cooldown, @NotNull final Fallback fallback,
+        final long maximumLastValues) {
+      this.failureRate = failureRate;
+      this.slowCall = slowCall > 0 ? TimeUnit.MILLISECONDS.toNanos(slowCall) : Long.MAX_VALUE;
+      this.minimumRequests = Math.max(1, minimumRequests);
+      this.window = TimeUnit.MILLISECONDS.toNanos(Math.max(1, window));
+      this.cooldown = TimeUnit.MILLISECONDS.toNanos(Math.max(0, cooldown));
+      this.fallback = fallback;
+      this.maximumLastValues = Math.max(1, maximumLastValues);
+    }
+  }
+
+  private static final class Window {
+
+    private final long start;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private Window(final long start) {
+      this.start = start;
+    }
+  }
+
+  private static final class Key {
+
+    @Nullable
+    private final UUID player;
+    @Nullable
+    private final UUID other;
+    @NotNull
+    private final String params;
+
+    private Key(@Nullable final UUID player, @Nullable final UUID other,
+        @NotNull final String params) {
+      this.player = player;
+      this.other = other;
+      this.params = params;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+
+      final Key key = (Key) o;
+      return Objects.equals(player, key.player) && Objects.equals(other, key.other)
+          && params.equals(key.params);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * Objects.hashCode(player) + Objects.hashCode(other)) + params.hashCode();
+    }
+  }
+
+}
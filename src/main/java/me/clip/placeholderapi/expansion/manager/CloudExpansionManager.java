@@ -21,22 +21,16 @@
 package me.clip.placeholderapi.expansion.manager;
 
 import com.google.common.collect.ImmutableMap;
-import com.google.common.io.Resources;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -46,6 +40,7 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.stream.Collector;
@@ -63,9 +58,7 @@ public final class CloudExpansionManager {
   private static final String API_URL = "https://ecloud.placeholderapi.com/api/v3/";
 
   @NotNull
-  private static final Gson GSON = new Gson();
-  @NotNull
-  private static final Type TYPE = new TypeToken<Map<String, CloudExpansion>>() {}.getType();
+  private static final String INDEX_FILE_NAME = "ecloud-index.json";
 
   @NotNull
   private final Collector<CloudExpansion, ?, Map<String, CloudExpansion>> INDEXED_NAME_COLLECTOR = Collectors
@@ -75,17 +68,32 @@ public final class CloudExpansionManager {
   @NotNull
   private final PlaceholderAPIPlugin plugin;
 
+  @NotNull
+  private final CloudIndex index;
+
   @NotNull
   private final Map<String, CloudExpansion> cache = new HashMap<>();
   @NotNull
   private final Map<String, CompletableFuture<File>> await = new ConcurrentHashMap<>();
 
+  // fetches of the index from the eCloud, read by the metrics exporter
+  private final LongAdder fetches = new LongAdder();
+  private final LongAdder fetchFailures = new LongAdder();
+  private volatile long lastFetchNanos;
+
   private final ExecutorService ASYNC_EXECUTOR =
       Executors.newCachedThreadPool(
           new ThreadFactoryBuilder().setNameFormat("placeholderapi-io-#%1$d").build());
 
   public CloudExpansionManager(@NotNull final PlaceholderAPIPlugin plugin) {
     this.plugin = plugin;
+
+    try {
+      this.index = new CloudIndex(new URL(API_URL),
+          new File(plugin.getDataFolder(), INDEX_FILE_NAME));
+    } catch (final MalformedURLException ex) {
+      throw new IllegalStateException(ex);
+    }
   }
 
   @NotNull
@@ -175,64 +183,102 @@ public final class CloudExpansionManager {
 
     ASYNC_EXECUTOR.submit(
         () -> {
-          // a defence tactic! use ConcurrentHashMap instead of normal HashMap
-          Map<String, CloudExpansion> values = new ConcurrentHashMap<>();
+          // serve the persisted index right away, the request below only replaces it if it changed
+          boolean persisted = false;
           try {
-            //noinspection UnstableApiUsage
-            String json = Resources.toString(new URL(API_URL), StandardCharsets.UTF_8);
-            values.putAll(GSON.fromJson(json, TYPE));
-
-            List<String> toRemove = new ArrayList<>();
-
-            for (Map.Entry<String, CloudExpansion> entry : values.entrySet()) {
-              CloudExpansion expansion = entry.getValue();
-              if (expansion.getLatestVersion() == null
-                  || expansion.getVersion(expansion.getLatestVersion()) == null) {
-                toRemove.add(entry.getKey());
-              }
+            final Map<String, CloudExpansion> values = index.read();
+            if (values != null) {
+              persisted = true;
+              apply(values);
             }
+          } catch (Throwable e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to read cached expansion information", e);
+            index.delete();
+          }
 
-            for (String name : toRemove) {
-              values.remove(name);
+          final long start = System.nanoTime();
+          try {
+            final Map<String, CloudExpansion> values = index.fetch(persisted);
+            if (values != null) {
+              apply(values);
             }
           } catch (Throwable e) {
+            fetchFailures.increment();
             // ugly swallowing of every throwable, but we have to be defensive
             plugin.getLogger().log(Level.WARNING, "Failed to download expansion information", e);
+          } finally {
+            fetches.increment();
+            lastFetchNanos = System.nanoTime() - start;
           }
+        });
+  }
+
+  private void apply(@NotNull final Map<String, CloudExpansion> index) {
+    final Map<String, CloudExpansion> values = new HashMap<>();
 
-          // loop through what's left on the main thread
-          plugin
-              .getScheduler()
-              .runTask(
-                  () -> {
-                    try {
-                      for (Map.Entry<String, CloudExpansion> entry : values.entrySet()) {
-                        String name = entry.getKey();
-                        CloudExpansion expansion = entry.getValue();
-
-                        expansion.setName(name);
-
-                        Optional<PlaceholderExpansion> localOpt =
-                            plugin.getLocalExpansionManager().findExpansionByName(name);
-                        if (localOpt.isPresent()) {
-                          PlaceholderExpansion local = localOpt.get();
-                          if (local.isRegistered()) {
-                            expansion.setHasExpansion(true);
-                            expansion.setShouldUpdate(
-                                !local.getVersion().equalsIgnoreCase(expansion.getLatestVersion()));
-                          }
-                        }
-
-                        cache.put(toIndexName(expansion), expansion);
-                      }
-                    } catch (Throwable e) {
-                      // ugly swallowing of every throwable, but we have to be defensive
-                      plugin
-                          .getLogger()
-                          .log(Level.WARNING, "Failed to download expansion information", e);
+    for (Map.Entry<String, CloudExpansion> entry : index.entrySet()) {
+      CloudExpansion expansion = entry.getValue();
+      if (expansion != null && expansion.getLatestVersion() != null
+          && expansion.getVersion(expansion.getLatestVersion()) != null) {
+        values.put(entry.getKey(), expansion);
+      }
+    }
+
+    // loop through what's left on the main thread
+    plugin
+        .getScheduler()
+        .runTask(
+            () -> {
+              try {
+                cache.clear();
+
+                for (Map.Entry<String, CloudExpansion> entry : values.entrySet()) {
+                  String name = entry.getKey();
+                  CloudExpansion expansion = entry.getValue();
+
+                  expansion.setName(name);
+
+                  Optional<PlaceholderExpansion> localOpt =
+                      plugin.getLocalExpansionManager().findExpansionByName(name);
+                  if (localOpt.isPresent()) {
+                    PlaceholderExpansion local = localOpt.get();
+                    if (local.isRegistered()) {
+                      expansion.setHasExpansion(true);
+                      expansion.setShouldUpdate(
+                          !local.getVersion().equalsIgnoreCase(expansion.getLatestVersion()));
                     }
-                  });
-        });
+                  }
+
+                  cache.put(toIndexName(expansion), expansion);
+                }
+              } catch (Throwable e) {
+                // ugly swallowing of every throwable, but we have to be defensive
+                plugin
+                    .getLogger()
+                    .log(Level.WARNING, "Failed to download expansion information", e);
+              }
+            });
+  }
+
+  /**
+   * @return the number of times the expansion index was fetched from the eCloud
+   */
+  public long getFetches() {
+    return fetches.sum();
+  }
+
+  /**
+   * @return the number of times the expansion index could not be fetched from the eCloud
+   */
+  public long getFetchFailures() {
+    return fetchFailures.sum();
+  }
+
+  /**
+   * @return how long the last fetch of the expansion index took, in nanoseconds
+   */
+  public long getLastFetchNanos() {
+    return lastFetchNanos;
   }
 
   public boolean isDownloading(@NotNull final CloudExpansion expansion) {
@@ -0,0 +1,276 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import me.clip.placeholderapi.expansion.cloud.CloudExpansion;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The eCloud index, persisted on disk and revalidated with conditional requests.
+ *
+ * <p>The last index received is kept in a file, next to a file holding the {@code ETag} and
+ * {@code Last-Modified} headers it was served with. Fetching sends them back, so an unchanged
+ * index is answered with {@code 304 Not Modified} instead of being downloaded again. A changed
+ * index is parsed while it is streamed from the connection and written to disk at the same time.
+ */
+final class CloudIndex {
+
+  @NotNull
+  private static final Gson GSON = new Gson();
+  @NotNull
+  private static final Type TYPE = new TypeToken<Map<String, CloudExpansion>>() {}.getType();
+
+  private static final String ETAG = "etag";
+  private static final String LAST_MODIFIED = "last-modified";
+
+  private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(10);
+  private static final int READ_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(30);
+
+  @NotNull
+  private final URL url;
+  @NotNull
+  private final Path file;
+  @NotNull
+  private final Path meta;
+
+  CloudIndex(@NotNull final URL url, @NotNull final File file) {
+    this.url = url;
+    this.file = file.toPath();
+    this.meta = new File(file.getParentFile(), file.getName() + ".meta").toPath();
+  }
+
+  /**
+   * Reads the index persisted by the last successful fetch.
+   *
+   * @return the persisted index, or null if there is none
+   * @throws IOException if the persisted index cannot be read or parsed
+   */
+  @Nullable
+  Map<String, CloudExpansion> read() throws IOException {
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+
+    try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return parse(reader);
+    }
+  }
+
+  /**
+   * Requests the index, revalidating the persisted one if requested.
+   *
+   * @param revalidate whether to send the validators of the persisted index. Must only be true if
+   *     the persisted index could be {@link #read() read}
+   * @return the new index, or null if the persisted index is still up-to-date
+   * @throws IOException if the index could not be fetched
+   */
+  @Nullable
+  Map<String, CloudExpansion> fetch(final boolean revalidate) throws IOException {
+    final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setConnectTimeout(CONNECT_TIMEOUT);
+    connection.setReadTimeout(READ_TIMEOUT);
+
+    final Properties validators = revalidate ? readValidators() : new Properties();
+    if (validators.getProperty(ETAG) != null) {
+      connection.setRequestProperty("If-None-Match", validators.getProperty(ETAG));
+    }
+    if (validators.getProperty(LAST_MODIFIED) != null) {
+      connection.setRequestProperty("If-Modified-Since", validators.getProperty(LAST_MODIFIED));
+    }
+
+    try {
+      final int code = connection.getResponseCode();
+      if (code == HttpURLConnection.HTTP_NOT_MODIFIED && revalidate) {
+        return null;
+      }
+      if (code != HttpURLConnection.HTTP_OK) {
+        throw new IOException("Unexpected response from " + url + ": " + code);
+      }
+
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      final Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "index", ".tmp");
+
+      try {
+        final Map<String, CloudExpansion> index;
+        try (final OutputStream copy = Files.newOutputStream(temp);
+            final InputStream body = new TeeInputStream(connection.getInputStream(), copy)) {
+          index = parse(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+          // the parser stops at the end of the document, keep whatever follows in the copy
+          final byte[] rest = new byte[1024];
+          while (body.read(rest) != -1) {
+            // drained
+          }
+        }
+
+        move(temp, file);
+        writeValidators(connection.getHeaderField("ETag"),
+            connection.getHeaderField("Last-Modified"));
+
+        return index;
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  /**
+   * Deletes the persisted index, e.g. after it turned out to be unreadable.
+   */
+  void delete() {
+    try {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(meta);
+    } catch (final IOException ignored) {
+    }
+  }
+
+  @NotNull
+  private static Map<String, CloudExpansion> parse(@NotNull final Reader reader)
+      throws IOException {
+    try {
+      final Map<String, CloudExpansion> index = GSON.fromJson(new JsonReader(reader), TYPE);
+      if (index == null) {
+        throw new IOException("The index is empty");
+      }
+
+      return index;
+    } catch (final RuntimeException ex) {
+      throw new IOException("The index is malformed", ex);
+    }
+  }
+
+  @NotNull
+  private Properties readValidators() {
+    final Properties validators = new Properties();
+    if (!Files.isRegularFile(meta)) {
+      return validators;
+    }
+
+    try (final Reader reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+      validators.load(reader);
+    } catch (final IOException ignored) {
+      // without validators the index is downloaded again
+    }
+
+    return validators;
+  }
+
+  private void writeValidators(@Nullable final String etag, @Nullable final String lastModified)
+      throws IOException {
+    final Properties validators = new Properties();
+    if (etag != null) {
+      validators.setProperty(ETAG, etag);
+    }
+    if (lastModified != null) {
+      validators.setProperty(LAST_MODIFIED, lastModified);
+    }
+
+    final Path temp = Files.createTempFile(meta.toAbsolutePath().getParent(), "index", ".tmp");
+    try {
+      try (final Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+        validators.store(writer, null);
+      }
+
+      move(temp, meta);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private static void move(@NotNull final Path source, @NotNull final Path target)
+      throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (final AtomicMoveNotSupportedException ex) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+
+  /**
+   * Copies every byte read from the wrapped stream into another stream.
+   */
+  private static final class TeeInputStream extends FilterInputStream {
+
+    @NotNull
+    private final OutputStream copy;
+
+    private TeeInputStream(@NotNull final InputStream in, @NotNull final OutputStream copy) {
+      super(in);
+      this.copy = copy;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int read = super.read();
+      if (read != -1) {
+        copy.write(read);
+      }
+      return read;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length)
+        throws IOException {
+      final int read = super.read(buffer, offset, length);
+      if (read > 0) {
+        copy.write(buffer, offset, read);
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+      // skipped bytes would be missing from the copy
+      return read() == -1 ? 0 : 1;
+    }
+
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Writes a configuration file off the main thread. Writes happen in the order they were requested
+ * and replace the file atomically, so a crash never leaves a truncated configuration behind.
+ */
+final class ConfigWriter {
+
+  @NotNull
+  private final Path file;
+  /**
+   * A single thread keeps the writes in order, it is only kept around while there are writes.
+   */
+  @NotNull
+  private final ExecutorService executor = new ThreadPoolExecutor(0, 1, 30, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<>(),
+      new ThreadFactoryBuilder().setNameFormat("placeholderapi-config").setDaemon(true).build());
+
+  @NotNull
+  private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+
+  ConfigWriter(@NotNull final File file) {
+    this.file = file.toPath();
+  }
+
+  /**
+   * Writes the contents to the file, once the previous writes are done.
+   *
+   * @param contents the contents of the file
+   * @return a future completed once the file is written
+   */
+  @NotNull
+  synchronized CompletableFuture<Void> write(@NotNull final String contents) {
+    final CompletableFuture<Void> write = CompletableFuture.runAsync(() -> {
+      try {
+        writeNow(contents);
+      } catch (final IOException ex) {
+        throw new CompletionException(ex);
+      }
+    }, executor);
+
+    pending = write;
+    return write;
+  }
+
+  /**
+   * Waits for the pending writes to be done. Failures are reported to the callers of
+   * {@link #write(String)}, not here.
+   */
+  void await() {
+    final CompletableFuture<Void> last;
+    synchronized (this) {
+      last = pending;
+    }
+
+    // the executor runs the writes in order, the last one completes after all others
+    last.handle((ignored, exception) -> null).join();
+  }
+
+  private void writeNow(@NotNull final String contents) throws IOException {
+    final Path parent = file.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+
+    final Path temp = Files.createTempFile(parent, "config", ".tmp");
+    try {
+      Files.write(temp, contents.getBytes(StandardCharsets.UTF_8));
+
+      try {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } catch (final AtomicMoveNotSupportedException ex) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+}
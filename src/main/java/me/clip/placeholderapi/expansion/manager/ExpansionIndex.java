@@ -0,0 +1,259 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The results of scanning the jars of the expansions folder, persisted across restarts.
+ *
+ * <p>Each jar is identified by its name, size, modification time and a checksum of its content.
+ * As long as all of them match, the expansion class found in the jar and whether it passed
+ * validation are reused, so the jar is neither scanned nor validated again. The index is tied to
+ * the version of the plugin, as validation depends on the methods of
+ * {@link me.clip.placeholderapi.expansion.PlaceholderExpansion}.
+ */
+final class ExpansionIndex {
+
+  @NotNull
+  private static final Gson GSON = new Gson();
+
+  @NotNull
+  private final Path file;
+  @NotNull
+  private final String version;
+  @NotNull
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  ExpansionIndex(@NotNull final File file, @NotNull final String version) {
+    this.file = file.toPath();
+    this.version = version;
+  }
+
+  /**
+   * Replaces the entries in memory with the persisted ones. An index of another version of the
+   * plugin is ignored.
+   *
+   * @throws IOException if the persisted index cannot be read or parsed, the entries in memory
+   *     are cleared regardless
+   */
+  void load() throws IOException {
+    entries.clear();
+    if (!Files.isRegularFile(file)) {
+      return;
+    }
+
+    final Persisted persisted;
+    try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      persisted = GSON.fromJson(reader, Persisted.class);
+    } catch (final RuntimeException ex) {
+      throw new IOException("The expansion index is malformed", ex);
+    }
+
+    if (persisted == null || !version.equals(persisted.version) || persisted.jars == null) {
+      return;
+    }
+
+    for (final Map.Entry<String, Entry> entry : persisted.jars.entrySet()) {
+      if (entry.getKey() != null && entry.getValue() != null && entry.getValue().isWellFormed()) {
+        entries.put(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Writes the entries of the jars to the index, replacing the previous file atomically.
+   *
+   * @param jars the names of the jars to keep, entries of other jars are dropped
+   * @throws IOException if the index could not be written
+   */
+  void save(@NotNull final Collection<String> jars) throws IOException {
+    final Set<String> retained = new HashSet<>(jars);
+    entries.keySet().retainAll(retained);
+
+    final Persisted persisted = new Persisted();
+    persisted.version = version;
+    persisted.jars = new HashMap<>(entries);
+
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    final Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "expansions",
+        ".tmp");
+
+    try {
+      try (final Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+        GSON.toJson(persisted, writer);
+      }
+
+      try {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } catch (final AtomicMoveNotSupportedException ex) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Deletes the persisted index, e.g. after it turned out to be unreadable.
+   */
+  void delete() {
+    try {
+      Files.deleteIfExists(file);
+    } catch (final IOException ignored) {
+    }
+  }
+
+  /**
+   * The recorded result of a jar, if the jar did not change since it was recorded.
+   *
+   * @param jar the jar
+   * @param fingerprint the current fingerprint of the jar
+   * @return the recorded result, or null if the jar is unknown or changed
+   */
+  @Nullable
+  Entry get(@NotNull final File jar, @NotNull final Entry fingerprint) {
+    final Entry entry = entries.get(jar.getName());
+    return entry != null && entry.hasFingerprint(fingerprint) ? entry : null;
+  }
+
+  void put(@NotNull final File jar, @NotNull final Entry entry) {
+    entries.put(jar.getName(), entry);
+  }
+
+
+  /**
+   * The fingerprint of a jar and, once it has been scanned, the result of the scan.
+   */
+  static final class Entry {
+
+    private long size;
+    private long modified;
+    @Nullable
+    private String hash;
+    @Nullable
+    @SerializedName("class")
+    private String className;
+    private boolean valid;
+
+    private Entry() {
+    }
+
+    /**
+     * Computes the fingerprint of a jar. Its content is read in full to be checksummed.
+     *
+     * @param jar the jar
+     * @return an entry holding only the fingerprint of the jar
+     * @throws IOException if the jar cannot be read
+     */
+    @NotNull
+    static Entry fingerprint(@NotNull final File jar) throws IOException {
+      final BasicFileAttributes attributes = Files.readAttributes(jar.toPath(),
+          BasicFileAttributes.class);
+
+      final CRC32C checksum = new CRC32C();
+      final byte[] buffer = new byte[64 * 1024];
+      try (final InputStream stream = Files.newInputStream(jar.toPath())) {
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+          checksum.update(buffer, 0, read);
+        }
+      }
+
+      final Entry entry = new Entry();
+      entry.size = attributes.size();
+      entry.modified = attributes.lastModifiedTime().toMillis();
+      entry.hash = Long.toHexString(checksum.getValue());
+      return entry;
+    }
+
+    /**
+     * The result of scanning the jar this is the fingerprint of.
+     *
+     * @param className the binary name of the expansion class, or null if there is none
+     * @param valid whether the expansion class passed validation
+     * @return a new entry holding the fingerprint and the result
+     */
+    @NotNull
+    Entry withResult(@Nullable final String className, final boolean valid) {
+      final Entry entry = new Entry();
+      entry.size = size;
+      entry.modified = modified;
+      entry.hash = hash;
+      entry.className = className;
+      entry.valid = valid && className != null;
+      return entry;
+    }
+
+    @Nullable
+    String getClassName() {
+      return className;
+    }
+
+    boolean isValid() {
+      return valid;
+    }
+
+    private boolean hasFingerprint(@NotNull final Entry other) {
+      return size == other.size && modified == other.modified
+          && Objects.equals(hash, other.hash);
+    }
+
+    private boolean isWellFormed() {
+      return hash != null && (!valid || className != null);
+    }
+
+  }
+
+  private static final class Persisted {
+
+    @Nullable
+    private String version;
+    @Nullable
+    private Map<String, Entry> jars;
+
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+/**
+ * Copy-on-write store of the registered expansions, keyed by their lowercase identifier.
+ *
+ * <p>Every modification publishes a new immutable {@link Snapshot} through a volatile reference,
+ * so lookups never block and never observe a partially applied change. Modifications are
+ * serialized by a lock, which keeps them linearizable. Each snapshot carries a generation that
+ * increases with every modification, allowing callers to detect stale cached lookups.
+ */
+@ApiStatus.Internal
+public final class ExpansionRegistry {
+
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  @NotNull
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+  /**
+   * The latest published snapshot of this registry.
+   *
+   * @return the current snapshot
+   */
+  @NotNull
+  public Snapshot snapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Looks up an expansion without acquiring any lock.
+   *
+   * @param identifier the lowercase identifier of the expansion
+   * @return the registered expansion or null if there is none
+   */
+  @Nullable
+  public PlaceholderExpansion get(@NotNull final String identifier) {
+    return snapshot.expansions.get(identifier);
+  }
+
+  /**
+   * The generation of the current snapshot.
+   *
+   * @return the number of modifications applied to this registry so far
+   */
+  public long generation() {
+    return snapshot.generation;
+  }
+
+  /**
+   * Registers the expansion under the provided identifier, replacing any previous mapping.
+   *
+   * @param identifier the lowercase identifier of the expansion
+   * @param expansion the expansion to register
+   * @return the expansion which was previously registered under the identifier, if any
+   */
+  @Nullable
+  public PlaceholderExpansion put(@NotNull final String identifier,
+      @NotNull final PlaceholderExpansion expansion) {
+    writeLock.lock();
+    try {
+      final Snapshot current = snapshot;
+      final PlaceholderExpansion previous = current.expansions.get(identifier);
+
+      final ImmutableMap.Builder<String, PlaceholderExpansion> next = without(current, identifier);
+      next.put(identifier, expansion);
+
+      snapshot = new Snapshot(next.build(), current.generation + 1);
+      return previous;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Removes the expansion registered under the provided identifier.
+   *
+   * @param identifier the lowercase identifier of the expansion
+   * @return the removed expansion or null if nothing was registered under the identifier
+   */
+  @Nullable
+  public PlaceholderExpansion remove(@NotNull final String identifier) {
+    writeLock.lock();
+    try {
+      final Snapshot current = snapshot;
+      final PlaceholderExpansion previous = current.expansions.get(identifier);
+      if (previous == null) {
+        return null;
+      }
+
+      snapshot = new Snapshot(without(current, identifier).build(), current.generation + 1);
+      return previous;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @NotNull
+  private static ImmutableMap.Builder<String, PlaceholderExpansion> without(
+      @NotNull final Snapshot snapshot, @NotNull final String identifier) {
+    final ImmutableMap.Builder<String, PlaceholderExpansion> builder = ImmutableMap.builder();
+
+    for (final Map.Entry<String, PlaceholderExpansion> entry : snapshot.expansions.entrySet()) {
+      if (!entry.getKey().equals(identifier)) {
+        builder.put(entry);
+      }
+    }
+
+    return builder;
+  }
+
+  /**
+   * An immutable view of the registry at one point in time.
+   */
+  public static final class Snapshot {
+
+    @NotNull
+    private static final Snapshot EMPTY = new Snapshot(ImmutableMap.of(), 0);
+
+    @NotNull
+    private final ImmutableMap<String, PlaceholderExpansion> expansions;
+    @NotNull
+    private final ImmutableSet<PlaceholderExpansion> values;
+    private final long generation;
+
+    private Snapshot(@NotNull final ImmutableMap<String, PlaceholderExpansion> expansions,
+        final long generation) {
+      this.expansions = expansions;
+      this.values = ImmutableSet.copyOf(expansions.values());
+      this.generation = generation;
+    }
+
+    @NotNull
+    @Unmodifiable
+    public Set<String> getIdentifiers() {
+      return expansions.keySet();
+    }
+
+    @NotNull
+    @Unmodifiable
+    public Set<PlaceholderExpansion> getExpansions() {
+      return values;
+    }
+
+    @NotNull
+    @Unmodifiable
+    public Map<String, PlaceholderExpansion> asMap() {
+      return expansions;
+    }
+
+    public int size() {
+      return expansions.size();
+    }
+
+    public long getGeneration() {
+      return generation;
+    }
+
+  }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import me.clip.placeholderapi.util.Msg;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Watches the expansions folder for jars being added, changed or removed.
+ *
+ * <p>Copying a jar fires several events, so changes are only reported once the folder has been
+ * quiet for the debounce delay. The names of the changed jars are reported together, or null if
+ * events were lost and the whole folder has to be checked.
+ */
+final class ExpansionWatcher implements AutoCloseable {
+
+  @NotNull
+  private final WatchService service;
+  @NotNull
+  private final Thread thread;
+  private final long debounce;
+  @NotNull
+  private final Consumer<@Nullable Set<String>> listener;
+
+  ExpansionWatcher(@NotNull final Path folder, final long debounce, @NotNull final TimeUnit unit,
+      @NotNull final Consumer<@Nullable Set<String>> listener) throws IOException {
+    this.service = folder.getFileSystem().newWatchService();
+    this.debounce = unit.toMillis(debounce);
+    this.listener = listener;
+
+    try {
+      folder.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+    } catch (final IOException ex) {
+      service.close();
+      throw ex;
+    }
+
+    this.thread = new Thread(this::run, "placeholderapi-watcher");
+    this.thread.setDaemon(true);
+  }
+
+  void start() {
+    thread.start();
+  }
+
+  @Override
+  public void close() {
+    try {
+      service.close();
+    } catch (final IOException ignored) {
+    }
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        final Set<String> changed = new HashSet<>();
+        boolean overflow = poll(service.take(), changed);
+
+        WatchKey key;
+        while ((key = service.poll(debounce, TimeUnit.MILLISECONDS)) != null) {
+          overflow |= poll(key, changed);
+        }
+
+        if (overflow || !changed.isEmpty()) {
+          notify(overflow ? null : changed);
+        }
+      }
+    } catch (final InterruptedException | ClosedWatchServiceException ignored) {
+      // closed
+    }
+  }
+
+  private void notify(@Nullable final Set<String> changed) {
+    try {
+      listener.accept(changed);
+    } catch (final RuntimeException ex) {
+      Msg.warn("Failed to handle changes of the expansions folder.", ex);
+    }
+  }
+
+  private static boolean poll(@NotNull final WatchKey key, @NotNull final Set<String> changed) {
+    boolean overflow = false;
+    for (final WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == OVERFLOW) {
+        overflow = true;
+        continue;
+      }
+
+      final String name = ((Path) event.context()).getFileName().toString();
+      if (name.endsWith(".jar")) {
+        changed.add(name);
+      }
+    }
+
+    key.reset();
+    return overflow;
+  }
+
+}
@@ -20,13 +20,20 @@
 
 package me.clip.placeholderapi.expansion.manager;
 
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -35,19 +42,31 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 import me.clip.placeholderapi.PlaceholderAPIPlugin;
+import me.clip.placeholderapi.events.ExpansionCircuitBreakerEvent;
 import me.clip.placeholderapi.events.ExpansionRegisterEvent;
 import me.clip.placeholderapi.events.ExpansionUnregisterEvent;
 import me.clip.placeholderapi.events.ExpansionsLoadedEvent;
 import me.clip.placeholderapi.expansion.Cacheable;
 import me.clip.placeholderapi.expansion.Cleanable;
 import me.clip.placeholderapi.expansion.Configurable;
+import me.clip.placeholderapi.expansion.Memoizable;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import me.clip.placeholderapi.expansion.Taskable;
 import me.clip.placeholderapi.expansion.cloud.CloudExpansion;
+import me.clip.placeholderapi.profiling.jfr.ExpansionRegistrationEvent;
+import me.clip.placeholderapi.profiling.jfr.ExpansionScanEvent;
 import me.clip.placeholderapi.util.FileUtil;
 import me.clip.placeholderapi.util.Futures;
 import me.clip.placeholderapi.util.Msg;
@@ -69,6 +88,13 @@ public final class LocalExpansionManager implements Listener {
 
   @NotNull
   private static final String EXPANSIONS_FOLDER_NAME = "expansions";
+  @NotNull
+  private static final String INDEX_FILE_NAME = "expansion-index.json";
+
+  /**
+   * How long the class loader of an unregistered expansion is kept open, in ticks.
+   */
+  private static final long CLASS_LOADER_CLOSE_DELAY = 100;
 
   @NotNull
   private static final Set<MethodSignature> ABSTRACT_EXPANSION_METHODS = Arrays
@@ -83,12 +109,55 @@ public final class LocalExpansionManager implements Listener {
   private final PlaceholderAPIPlugin plugin;
 
   @NotNull
-  private final Map<String, PlaceholderExpansion> expansions = new ConcurrentHashMap<>();
-  private final ReentrantLock expansionsLock = new ReentrantLock();
+  private final ExpansionRegistry expansions = new ExpansionRegistry();
+  @NotNull
+  private final Map<PlaceholderExpansion, ValueCache> caches = new ConcurrentHashMap<>();
+  @NotNull
+  private final Map<PlaceholderExpansion, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+  @NotNull
+  private final ExpansionIndex index;
+
+  @Nullable
+  private ExecutorService loader;
+  @Nullable
+  private ExpansionWatcher watcher;
+  /**
+   * The jars the registered external expansions were loaded from, as they were when registered.
+   */
+  @NotNull
+  private final Map<String, Stamp> stamps = new ConcurrentHashMap<>();
+  /**
+   * The jars of the expansions folder without a registered expansion, as they were when last seen,
+   * so unchanged ones are not scanned again by every check of the folder.
+   */
+  @NotNull
+  private final Map<String, Stamp> idleStamps = new ConcurrentHashMap<>();
+  /**
+   * The class loaders of unregistered expansions which are not closed yet, with the identifier of
+   * their expansion.
+   */
+  @NotNull
+  private final Map<URLClassLoader, String> retiredLoaders = new ConcurrentHashMap<>();
+
+  @NotNull
+  private final ConfigWriter configWriter;
+  /**
+   * The number of expansions whose defaults were merged into the config since it was last saved.
+   */
+  @NotNull
+  private final AtomicInteger mergedDefaults = new AtomicInteger();
+
+  // the last scan of the expansions folder, read by the metrics exporter
+  private volatile long lastScanNanos;
+  private volatile int lastScanJars;
+  private volatile long lastScanIndexed;
 
   public LocalExpansionManager(@NotNull final PlaceholderAPIPlugin plugin) {
     this.plugin = plugin;
     this.folder = new File(plugin.getDataFolder(), EXPANSIONS_FOLDER_NAME);
+    this.index = new ExpansionIndex(new File(plugin.getDataFolder(), INDEX_FILE_NAME),
+        plugin.getDescription().getVersion());
+    this.configWriter = new ConfigWriter(new File(plugin.getDataFolder(), "config.yml"));
 
     if (!this.folder.exists() && !folder.mkdirs()) {
       Msg.warn("Failed to create expansions folder!");
@@ -96,66 +165,136 @@ public final class LocalExpansionManager implements Listener {
   }
 
   public void load(@NotNull final CommandSender sender) {
+    // picks up changes to the loader settings, jars still being loaded finish on the old loader
+    shutdownLoader();
     registerAll(sender);
+    startWatcher();
   }
 
   public void kill() {
+    stopWatcher();
     unregisterAll();
   }
 
+  /**
+   * Stops the threads loading the expansion jars, once the jars being loaded are done.
+   */
+  public synchronized void shutdownLoader() {
+    if (loader != null) {
+      loader.shutdown();
+      loader = null;
+    }
+  }
+
+  /**
+   * The executor scanning and loading the expansion jars. It is bounded and dedicated, so the
+   * class loading does not compete with other plugins on the common pool.
+   *
+   * @return the loader executor, created with the current settings if needed
+   */
+  @NotNull
+  private synchronized ExecutorService loader() {
+    if (loader == null) {
+      final int threads = plugin.getPlaceholderAPIConfig().expansionLoaderThreads();
+      final ThreadFactory factory = plugin.getPlaceholderAPIConfig().expansionLoaderVirtualThreads()
+          ? Thread.ofVirtual().name("placeholderapi-loader-#", 1).factory()
+          : new ThreadFactoryBuilder().setNameFormat("placeholderapi-loader-#%1$d")
+              .setDaemon(true).build();
+
+      final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30,
+          TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+      // the jars are only loaded on startup and reloads, the threads are not kept around
+      executor.allowCoreThreadTimeOut(true);
+      loader = executor;
+    }
+
+    return loader;
+  }
+
   @NotNull
   public File getExpansionsFolder() {
     return folder;
   }
 
+  /**
+   * A counter which changes every time an expansion is registered or unregistered. Callers
+   * caching the results of {@link #getExpansion(String)} can compare it to know when to look the
+   * expansions up again.
+   *
+   * @return the current generation of the registered expansions
+   */
+  public long getGeneration() {
+    return expansions.generation();
+  }
+
+  /**
+   * The value cache of a registered {@link Memoizable} expansion.
+   *
+   * @param expansion the expansion
+   * @return the value cache of the expansion, or null if its values are not cached
+   */
+  @Nullable
+  public ValueCache getValueCache(@NotNull final PlaceholderExpansion expansion) {
+    return caches.get(expansion);
+  }
+
+  /**
+   * @return how long the last scan of the expansions folder took, in nanoseconds
+   */
+  public long getLastScanNanos() {
+    return lastScanNanos;
+  }
+
+  /**
+   * @return the number of jars in the expansions folder when it was last scanned
+   */
+  public int getLastScanJars() {
+    return lastScanJars;
+  }
+
+  /**
+   * @return the number of jars the expansion index answered for when the folder was last scanned
+   */
+  public long getLastScanIndexed() {
+    return lastScanIndexed;
+  }
+
+  /**
+   * The circuit breaker guarding a registered expansion.
+   *
+   * @param expansion the expansion
+   * @return the circuit breaker of the expansion, or null if circuit breakers are disabled
+   */
+  @Nullable
+  public CircuitBreaker getCircuitBreaker(@NotNull final PlaceholderExpansion expansion) {
+    return breakers.get(expansion);
+  }
+
   @NotNull
   @Unmodifiable
   public Collection<String> getIdentifiers() {
-    expansionsLock.lock();
-    try {
-      return ImmutableSet.copyOf(expansions.keySet());
-    } finally {
-      expansionsLock.unlock();
-    }
+    return expansions.snapshot().getIdentifiers();
   }
 
   @NotNull
   @Unmodifiable
   public Collection<PlaceholderExpansion> getExpansions() {
-    expansionsLock.lock();
-    try {
-      return ImmutableSet.copyOf(expansions.values());
-    } finally {
-      expansionsLock.unlock();
-    }
+    return expansions.snapshot().getExpansions();
   }
 
   @Nullable
   public PlaceholderExpansion getExpansion(@NotNull final String identifier) {
-    expansionsLock.lock();
-    try {
-      return expansions.get(identifier.toLowerCase(Locale.ROOT));
-    } finally {
-      expansionsLock.unlock();
-    }
+    return expansions.get(identifier.toLowerCase(Locale.ROOT));
   }
 
   @NotNull
   public Optional<PlaceholderExpansion> findExpansionByName(@NotNull final String name) {
-    expansionsLock.lock();
-    try {
-      PlaceholderExpansion bestMatch = null;
-      for (Map.Entry<String, PlaceholderExpansion> entry : expansions.entrySet()) {
-        PlaceholderExpansion expansion = entry.getValue();
-        if (expansion.getName().equalsIgnoreCase(name)) {
-          bestMatch = expansion;
-          break;
-        }
+    for (final PlaceholderExpansion expansion : expansions.snapshot().getExpansions()) {
+      if (expansion.getName().equalsIgnoreCase(name)) {
+        return Optional.of(expansion);
       }
-      return Optional.ofNullable(bestMatch);
-    } finally {
-      expansionsLock.unlock();
     }
+    return Optional.empty();
   }
 
   @NotNull
@@ -222,6 +361,16 @@ public final class LocalExpansionManager implements Listener {
    */
   @ApiStatus.Internal
   public boolean register(@NotNull final PlaceholderExpansion expansion) {
+    final ExpansionRegistrationEvent recording = new ExpansionRegistrationEvent();
+    recording.begin();
+
+    final boolean registered = registerExpansion(expansion);
+
+    recording.complete(expansion.getIdentifier(), expansion.getVersion(), registered);
+    return registered;
+  }
+
+  private boolean registerExpansion(@NotNull final PlaceholderExpansion expansion) {
     final String identifier = expansion.getIdentifier().toLowerCase(Locale.ROOT);
 
     if (!expansion.canRegister()) {
@@ -229,7 +378,7 @@ public final class LocalExpansionManager implements Listener {
     }
 
     // Avoid loading two external expansions with the same identifier
-    if (expansion.getExpansionType() == PlaceholderExpansion.Type.EXTERNAL && expansions.containsKey(identifier)) {
+    if (expansion.getExpansionType() == PlaceholderExpansion.Type.EXTERNAL && expansions.get(identifier) != null) {
       Msg.warn("Failed to load external expansion %s. Identifier is already in use.", expansion.getIdentifier());
       return false;
     }
@@ -261,8 +410,7 @@ public final class LocalExpansionManager implements Listener {
       }
 
       if (save) {
-        plugin.saveConfig();
-        plugin.reloadConfig();
+        saveDefaultsLater();
       }
     }
 
@@ -280,11 +428,32 @@ public final class LocalExpansionManager implements Listener {
       return false;
     }
 
-    expansionsLock.lock();
-    try {
-      expansions.put(identifier, expansion);
-    } finally {
-      expansionsLock.unlock();
+    // only once the registration can no longer fail, it calls Configurable#onConfigReload
+    expansion.reloadConfigSnapshot();
+    expansions.put(identifier, expansion);
+
+    final File jar = jarOf(expansion);
+    if (jar != null) {
+      stamps.put(jar.getName(), Stamp.of(jar));
+      idleStamps.remove(jar.getName());
+    }
+
+    if (expansion instanceof Memoizable) {
+      try {
+        final ValueCache cache = ValueCache.of((Memoizable) expansion);
+        if (cache != null) {
+          caches.put(expansion, cache);
+        }
+      } catch (final PatternSyntaxException ex) {
+        Msg.warn("Values of expansion %s will not be cached, invalid pattern: %s",
+            expansion.getIdentifier(), ex.getPattern());
+      }
+    }
+
+    if (plugin.getPlaceholderAPIConfig().isCircuitBreakerEnabled()) {
+      breakers.put(expansion, new CircuitBreaker(
+          plugin.getPlaceholderAPIConfig().circuitBreakerSettings(),
+          (previous, state) -> onCircuitBreakerChange(expansion, previous, state)));
     }
 
     if (expansion instanceof Listener) {
@@ -336,6 +505,23 @@ public final class LocalExpansionManager implements Listener {
       ((Cacheable) expansion).clear();
     }
 
+    final ValueCache cache = caches.remove(expansion);
+    if (cache != null) {
+      cache.clear();
+    }
+
+    breakers.remove(expansion);
+
+    final File jar = jarOf(expansion);
+    if (jar != null) {
+      final Stamp stamp = stamps.remove(jar.getName());
+      if (stamp != null) {
+        idleStamps.put(jar.getName(), stamp);
+      }
+
+      closeLater(expansion);
+    }
+
     if (plugin.getPlaceholderAPIConfig().isCloudEnabled()) {
       plugin.getCloudExpansionManager().findCloudExpansionByName(expansion.getName())
           .ifPresent(cloud -> {
@@ -347,10 +533,51 @@ public final class LocalExpansionManager implements Listener {
     return true;
   }
 
+  /**
+   * Closes the class loader of an unregistered expansion after a delay, so its classes can be
+   * collected. Lookups do not lock, other threads may still be requesting its placeholders, and
+   * work stopped by {@link Taskable#stop()} may still be winding down. Both could need classes of
+   * the jar which were not loaded yet.
+   */
+  private void closeLater(@NotNull final PlaceholderExpansion expansion) {
+    final URLClassLoader loader = (URLClassLoader) expansion.getClass().getClassLoader();
+    retiredLoaders.put(loader, expansion.getIdentifier());
+
+    plugin.getScheduler().runTaskLater(() -> {
+      final String identifier = retiredLoaders.remove(loader);
+      if (identifier != null) {
+        close(loader, identifier);
+      }
+    }, CLASS_LOADER_CLOSE_DELAY);
+  }
+
+  /**
+   * Closes the class loaders of the unregistered expansions right away, when the plugin is
+   * disabled and the delayed closes would not run anymore.
+   */
+  public void closeRetiredLoaders() {
+    for (final URLClassLoader loader : retiredLoaders.keySet()) {
+      final String identifier = retiredLoaders.remove(loader);
+      if (identifier != null) {
+        close(loader, identifier);
+      }
+    }
+  }
+
+  private static void close(@NotNull final URLClassLoader loader,
+      @NotNull final String identifier) {
+    try {
+      loader.close();
+    } catch (final IOException ex) {
+      Msg.warn("Failed to close the class loader of expansion %s", ex, identifier);
+    }
+  }
+
   private void registerAll(@NotNull final CommandSender sender) {
     Msg.info("Placeholder expansion registration initializing...");
 
-    Futures.onMainThread(plugin, findExpansionsOnDisk(), (classes, exception) -> {
+    final Scan scan = new Scan();
+    Futures.onMainThread(plugin, findExpansionsOnDisk(scan), (classes, exception) -> {
       if (exception != null) {
         Msg.severe("Failed to load class files of expansion.", exception);
         return;
@@ -383,14 +610,203 @@ public final class LocalExpansionManager implements Listener {
             .append("placeholder hook(s) have an update available.");
       }
 
+      scan.summarize(message);
+
       Msg.msg(sender, message.toString());
 
       Bukkit.getPluginManager().callEvent(new ExpansionsLoadedEvent(registered));
     });
   }
 
+  /**
+   * Re-registers only the expansions whose jar was added, changed or removed since they were
+   * registered. The other expansions are left untouched, along with their caches.
+   *
+   * @param sender the sender to report to
+   * @param names the names of the jars to check, or null to check the whole folder
+   * @param force whether to reload the jars even if they did not change
+   */
+  public void reloadJars(@NotNull final CommandSender sender,
+      @Nullable final Collection<String> names, final boolean force) {
+    final Map<String, PlaceholderExpansion> registered = new HashMap<>();
+    for (final PlaceholderExpansion expansion : expansions.snapshot().getExpansions()) {
+      final File jar = jarOf(expansion);
+      if (jar != null) {
+        registered.put(jar.getName(), expansion);
+      }
+    }
+
+    final Set<String> candidates = new HashSet<>(names != null ? names : registered.keySet());
+    if (names == null) {
+      final String[] jars = folder.list((dir, name) -> name.endsWith(".jar"));
+      if (jars != null) {
+        candidates.addAll(Arrays.asList(jars));
+      }
+
+      idleStamps.keySet().retainAll(candidates);
+    }
+
+    final List<File> changed = new ArrayList<>();
+    int unregistered = 0;
+
+    for (final String name : candidates) {
+      final File jar = new File(folder, name);
+      final boolean exists = name.endsWith(".jar") && jar.isFile();
+      final PlaceholderExpansion expansion = registered.get(name);
+
+      if (exists && !force && Stamp.of(jar).equals(
+          expansion != null ? stamps.get(name) : idleStamps.get(name))) {
+        continue;
+      }
+
+      if (expansion != null && expansion.unregister()) {
+        unregistered++;
+      }
+      if (exists) {
+        // replaced by the stamp of the registered expansion, if the jar holds a valid one
+        idleStamps.put(name, Stamp.of(jar));
+        changed.add(jar);
+      } else {
+        idleStamps.remove(name);
+      }
+    }
+
+    if (changed.isEmpty()) {
+      if (unregistered > 0 || names != null) {
+        Msg.msg(sender, "&a" + unregistered + " placeholder hook(s) unregistered, no jar to load.");
+      }
+      return;
+    }
+
+    final int removed = unregistered;
+    final CompletableFuture<List<Class<? extends PlaceholderExpansion>>> classes = changed.stream()
+        .map(jar -> findExpansionInFile(jar, new Scan(), null, loader()))
+        .collect(Futures.joining());
+
+    Futures.onMainThread(plugin, classes.whenComplete((found, exception) -> saveIndex()),
+        (found, exception) -> {
+          if (exception != null) {
+            Msg.severe("Failed to load class files of expansion.", exception);
+            return;
+          }
+
+          final List<PlaceholderExpansion> loaded = found.stream()
+              .filter(Objects::nonNull)
+              .map(this::register)
+              .filter(Optional::isPresent)
+              .map(Optional::get)
+              .collect(Collectors.toList());
+
+          Msg.msg(sender, "&a" + loaded.size() + " placeholder hook(s) registered and " + removed
+              + " unregistered from " + changed.size() + " changed jar(s).");
+
+          if (!loaded.isEmpty()) {
+            Bukkit.getPluginManager().callEvent(new ExpansionsLoadedEvent(loaded));
+          }
+        });
+  }
+
+  private synchronized void startWatcher() {
+    if (watcher != null || !plugin.getPlaceholderAPIConfig().isExpansionHotReload()) {
+      return;
+    }
+
+    try {
+      watcher = new ExpansionWatcher(folder.toPath(), 1, TimeUnit.SECONDS,
+          names -> plugin.getScheduler().runTask(
+              () -> reloadJars(Bukkit.getConsoleSender(), names, false)));
+      watcher.start();
+    } catch (final IOException ex) {
+      Msg.warn("Failed to watch the expansions folder, changed jars will not be reloaded.", ex);
+    }
+  }
+
+  private synchronized void stopWatcher() {
+    if (watcher != null) {
+      watcher.close();
+      watcher = null;
+    }
+  }
+
+  /**
+   * The jar of the expansions folder an expansion was loaded from, if it has its own class loader.
+   *
+   * @param expansion the expansion
+   * @return the jar of the expansion, or null if it was not loaded from the expansions folder
+   */
+  @Nullable
+  private File jarOf(@NotNull final PlaceholderExpansion expansion) {
+    final ClassLoader loader = expansion.getClass().getClassLoader();
+    if (!(loader instanceof URLClassLoader)
+        || loader.getParent() != PlaceholderExpansion.class.getClassLoader()) {
+      return null;
+    }
+
+    final URL[] urls = ((URLClassLoader) loader).getURLs();
+    if (urls.length != 1) {
+      return null;
+    }
+
+    try {
+      final File jar = new File(urls[0].toURI()).getAbsoluteFile();
+      return folder.getAbsoluteFile().equals(jar.getParentFile()) ? jar : null;
+    } catch (final URISyntaxException | IllegalArgumentException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Replaces the config snapshots of the registered expansions, after the config was reloaded.
+   */
+  public void reloadConfigSnapshots() {
+    for (final PlaceholderExpansion expansion : expansions.snapshot().getExpansions()) {
+      try {
+        expansion.reloadConfigSnapshot();
+      } catch (final RuntimeException ex) {
+        Msg.warn("Failed to reload the config of expansion %s", ex, expansion.getIdentifier());
+      }
+    }
+  }
+
+  /**
+   * Saves the config on the next tick, so the defaults of every expansion registered until then
+   * are saved at once. The config in memory is already up-to-date, it is not reloaded.
+   */
+  private void saveDefaultsLater() {
+    if (mergedDefaults.getAndIncrement() == 0) {
+      plugin.getScheduler().runTask(this::saveDefaults);
+    }
+  }
+
+  private void saveDefaults() {
+    final int batch = mergedDefaults.getAndSet(0);
+    if (batch == 0) {
+      return;
+    }
+
+    final long start = System.nanoTime();
+    configWriter.write(plugin.getConfig().saveToString()).whenComplete((ignored, exception) -> {
+      if (exception != null) {
+        Msg.severe("Failed to save the defaults of %d expansion(s) to the config.", exception,
+            batch);
+      } else if (plugin.getPlaceholderAPIConfig().isDebugMode()) {
+        Msg.info("Saved the defaults of %d expansion(s) to the config in %dms.", batch,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      }
+    });
+  }
+
+  /**
+   * Saves the expansion defaults which are still pending and waits for the config to be written,
+   * e.g. before the config is saved or reloaded from elsewhere.
+   */
+  public void flushConfig() {
+    saveDefaults();
+    configWriter.await();
+  }
+
   private void unregisterAll() {
-    for (final PlaceholderExpansion expansion : Sets.newHashSet(expansions.values())) {
+    for (final PlaceholderExpansion expansion : expansions.snapshot().getExpansions()) {
       if (expansion.persist()) {
         continue;
       }
@@ -399,50 +815,211 @@ public final class LocalExpansionManager implements Listener {
     }
   }
 
+  private void onCircuitBreakerChange(@NotNull final PlaceholderExpansion expansion,
+      @NotNull final CircuitBreaker.State previous, @NotNull final CircuitBreaker.State state) {
+    if (state == CircuitBreaker.State.OPEN) {
+      Msg.warn("Expansion %s keeps failing, its placeholders are served from the fallback for now.",
+          expansion.getIdentifier());
+    } else if (state == CircuitBreaker.State.CLOSED) {
+      Msg.info("Expansion %s recovered, its placeholders are requested again.",
+          expansion.getIdentifier());
+    }
+
+    // changes happen on whichever thread requested the placeholder
+    plugin.getScheduler().runTask(() -> Bukkit.getPluginManager()
+        .callEvent(new ExpansionCircuitBreakerEvent(expansion, previous, state)));
+  }
+
+  /**
+   * Finds the expansion class of every jar in the expansions folder. Jars which did not change
+   * since they were last scanned are looked up in the {@link ExpansionIndex expansion index}
+   * instead of being scanned and validated again.
+   *
+   * @return the expansion classes, null for the jars without a valid one
+   */
   @NotNull
   public CompletableFuture<@NotNull List<@Nullable Class<? extends PlaceholderExpansion>>> findExpansionsOnDisk() {
+    return findExpansionsOnDisk(new Scan());
+  }
+
+  @NotNull
+  private CompletableFuture<@NotNull List<@Nullable Class<? extends PlaceholderExpansion>>> findExpansionsOnDisk(
+      @NotNull final Scan scan) {
     File[] files = folder.listFiles((dir, name) -> name.endsWith(".jar"));
     if (files == null) {
       return CompletableFuture.completedFuture(Collections.emptyList());
     }
 
-    return Arrays.stream(files)
-        .map(this::findExpansionInFile)
-        .collect(Futures.collector());
+    // the largest jars take the longest, starting them first shortens the whole scan
+    final File[] ordered = files.clone();
+    Arrays.sort(ordered, Comparator.comparingLong(File::length).reversed());
+
+    final long start = System.nanoTime();
+    final ExecutorService executor = loader();
+
+    // every task is submitted right away, a reload may shut the executor down while it runs
+    final CompletableFuture<Void> indexed = CompletableFuture.runAsync(this::loadIndex, executor);
+
+    return Arrays.stream(ordered)
+        .map(file -> findExpansionInFile(file, scan, indexed, executor))
+        .collect(Futures.joining())
+        .thenApply(classes -> {
+          // callers expect the classes in the order of the folder
+          final Map<File, Class<? extends PlaceholderExpansion>> found = new HashMap<>();
+          for (int i = 0; i < ordered.length; i++) {
+            found.put(ordered[i], classes.get(i));
+          }
+
+          return Arrays.stream(files).map(found::get).collect(Collectors.toList());
+        })
+        .whenComplete((classes, exception) -> {
+          scan.elapsed = System.nanoTime() - start;
+          saveIndex();
+
+          lastScanNanos = scan.elapsed;
+          lastScanJars = files.length;
+          lastScanIndexed = scan.hits.sum();
+
+          if (plugin.getPlaceholderAPIConfig().isDebugMode()) {
+            Msg.info("Scanned %d expansion jar(s) in %dms, %d of them found in the index.",
+                files.length, TimeUnit.NANOSECONDS.toMillis(scan.elapsed), scan.hits.sum());
+          }
+        });
   }
 
   @NotNull
   public CompletableFuture<@Nullable Class<? extends PlaceholderExpansion>> findExpansionInFile(
       @NotNull final File file) {
+    return findExpansionInFile(file, new Scan(), null, loader())
+        .whenComplete((clazz, exception) -> saveIndex());
+  }
+
+  /**
+   * @param indexed the loading of the index, which the jar waits for before it is looked up in it.
+   *     It runs first on the same executor, whose queue is processed in order
+   */
+  @NotNull
+  private CompletableFuture<@Nullable Class<? extends PlaceholderExpansion>> findExpansionInFile(
+      @NotNull final File file, @NotNull final Scan scan,
+      @Nullable final CompletableFuture<Void> indexed, @NotNull final Executor executor) {
     return CompletableFuture.supplyAsync(() -> {
+      if (indexed != null) {
+        indexed.join();
+      }
+
+      final ExpansionScanEvent recording = new ExpansionScanEvent();
+      recording.begin();
+
+      final LongAdder hits = new LongAdder();
+      final long start = System.nanoTime();
       try {
-        final Class<? extends PlaceholderExpansion> expansionClass = FileUtil.findClass(file,
-            PlaceholderExpansion.class);
+        final Class<? extends PlaceholderExpansion> expansionClass = findExpansionInFile(file, hits);
+        recording.complete(file, expansionClass, hits.sum() != 0);
+        return expansionClass;
+      } finally {
+        scan.timings.put(file.getName(), System.nanoTime() - start);
+        scan.hits.add(hits.sum());
+      }
+    }, executor);
+  }
 
-        if (expansionClass == null) {
-          Msg.severe("Failed to load expansion %s, as it does not have a class which"
-              + " extends PlaceholderExpansion", file.getName());
-          return null;
-        }
+  @Nullable
+  private Class<? extends PlaceholderExpansion> findExpansionInFile(@NotNull final File file,
+      @NotNull final LongAdder hits) {
+    try {
+      ExpansionIndex.Entry fingerprint = null;
+      try {
+        fingerprint = ExpansionIndex.Entry.fingerprint(file);
+      } catch (final IOException ignored) {
+        // the jar is scanned without the index, scanning reports the problem if it persists
+      }
 
-        Set<MethodSignature> expansionMethods = Arrays.stream(expansionClass.getDeclaredMethods())
-            .map(method -> new MethodSignature(method.getName(), method.getParameterTypes()))
-            .collect(Collectors.toSet());
-        if (!expansionMethods.containsAll(ABSTRACT_EXPANSION_METHODS)) {
-          Msg.severe("Failed to load expansion %s, as it does not have the required"
-              + " methods declared for a PlaceholderExpansion.", file.getName());
-          return null;
+      final ExpansionIndex.Entry known = fingerprint == null ? null : index.get(file, fingerprint);
+      if (known != null && !known.isValid()) {
+        hits.increment();
+        reportInvalid(file, known.getClassName() != null);
+        return null;
+      }
+
+      if (known != null) {
+        try {
+          final Class<? extends PlaceholderExpansion> expansionClass = FileUtil.loadClass(file,
+              known.getClassName(), PlaceholderExpansion.class);
+          if (expansionClass != null) {
+            hits.increment();
+            return expansionClass;
+          }
+        } catch (final ClassNotFoundException ignored) {
+          // the index is out of date, the jar is scanned again
         }
+      }
 
-        return expansionClass;
-      } catch (VerifyError | NoClassDefFoundError e) {
-        Msg.severe("Failed to load expansion %s (is a dependency missing?)", e, file.getName());
+      final Class<? extends PlaceholderExpansion> expansionClass = FileUtil.findClass(file,
+          PlaceholderExpansion.class);
+
+      if (expansionClass == null) {
+        record(file, fingerprint, null, false);
+        reportInvalid(file, false);
         return null;
-      } catch (Exception e) {
-        plugin.getLogger().log(Level.SEVERE, "Failed to load expansion file: " + file.getAbsolutePath(), e);
+      }
+
+      Set<MethodSignature> expansionMethods = Arrays.stream(expansionClass.getDeclaredMethods())
+          .map(method -> new MethodSignature(method.getName(), method.getParameterTypes()))
+          .collect(Collectors.toSet());
+      if (!expansionMethods.containsAll(ABSTRACT_EXPANSION_METHODS)) {
+        record(file, fingerprint, expansionClass.getName(), false);
+        reportInvalid(file, true);
         return null;
       }
-    });
+
+      record(file, fingerprint, expansionClass.getName(), true);
+      return expansionClass;
+    } catch (VerifyError | NoClassDefFoundError e) {
+      Msg.severe("Failed to load expansion %s (is a dependency missing?)", e, file.getName());
+      return null;
+    } catch (Exception e) {
+      plugin.getLogger().log(Level.SEVERE, "Failed to load expansion file: " + file.getAbsolutePath(), e);
+      return null;
+    }
+  }
+
+  private static void reportInvalid(@NotNull final File file, final boolean hasClass) {
+    if (hasClass) {
+      Msg.severe("Failed to load expansion %s, as it does not have the required"
+          + " methods declared for a PlaceholderExpansion.", file.getName());
+    } else {
+      Msg.severe("Failed to load expansion %s, as it does not have a class which"
+          + " extends PlaceholderExpansion", file.getName());
+    }
+  }
+
+  private void record(@NotNull final File file, @Nullable final ExpansionIndex.Entry fingerprint,
+      @Nullable final String className, final boolean valid) {
+    if (fingerprint != null) {
+      index.put(file, fingerprint.withResult(className, valid));
+    }
+  }
+
+  private void loadIndex() {
+    try {
+      index.load();
+    } catch (final IOException ex) {
+      Msg.warn("Failed to read the expansion index, every expansion will be scanned again.", ex);
+      index.delete();
+    }
+  }
+
+  private void saveIndex() {
+    final String[] jars = folder.list((dir, name) -> name.endsWith(".jar"));
+    if (jars == null) {
+      return;
+    }
+
+    try {
+      index.save(Arrays.asList(jars));
+    } catch (final IOException ex) {
+      Msg.warn("Failed to save the expansion index.", ex);
+    }
   }
 
   @Nullable
@@ -462,6 +1039,14 @@ public final class LocalExpansionManager implements Listener {
 
   @EventHandler
   public void onQuit(@NotNull final PlayerQuitEvent event) {
+    for (final ValueCache cache : caches.values()) {
+      cache.evict(event.getPlayer().getUniqueId());
+    }
+
+    for (final CircuitBreaker breaker : breakers.values()) {
+      breaker.evict(event.getPlayer().getUniqueId());
+    }
+
     for (final PlaceholderExpansion expansion : getExpansions()) {
       if (!(expansion instanceof Cleanable)) {
         continue;
@@ -489,4 +1074,75 @@ public final class LocalExpansionManager implements Listener {
     }
   }
 
+
+  /**
+   * What a scan of the expansions folder took, per jar and overall.
+   */
+  private static final class Scan {
+
+    @NotNull
+    private final LongAdder hits = new LongAdder();
+    @NotNull
+    private final Map<String, Long> timings = new ConcurrentHashMap<>();
+    private volatile long elapsed;
+
+    private void summarize(@NotNull final StringBuilder message) {
+      if (timings.isEmpty()) {
+        return;
+      }
+
+      final Map.Entry<String, Long> slowest = Collections.max(timings.entrySet(),
+          Map.Entry.comparingByValue());
+
+      message.append(" &7(")
+          .append(timings.size())
+          .append(" jar(s) loaded in ")
+          .append(TimeUnit.NANOSECONDS.toMillis(elapsed))
+          .append("ms, slowest: ")
+          .append(slowest.getKey())
+          .append(' ')
+          .append(TimeUnit.NANOSECONDS.toMillis(slowest.getValue()))
+          .append("ms)");
+    }
+
+  }
+
+  /**
+   * The size and modification time of a jar, to tell whether it changed since it was loaded.
+   */
+  private static final class Stamp {
+
+    private final long length;
+    private final long modified;
+
+    private Stamp(final long length, final long modified) {
+      this.length = length;
+      this.modified = modified;
+    }
+
+    @NotNull
+    private static Stamp of(@NotNull final File jar) {
+      return new Stamp(jar.length(), jar.lastModified());
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Stamp)) {
+        return false;
+      }
+
+      final Stamp stamp = (Stamp) o;
+      return length == stamp.length && modified == stamp.modified;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(length, modified);
+    }
+
+  }
+
 }
@@ -0,0 +1,368 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import me.clip.placeholderapi.expansion.Batchable;
+import me.clip.placeholderapi.expansion.Memoizable;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.profiling.jfr.ExpansionRequestEvent;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bounded cache of the values of a {@link Memoizable} expansion, keyed by player and parameters.
+ *
+ * <p>The duration of parameters is resolved from the declared patterns once and memoised
+ * apart from the values, for every player at once. Parameters matching no pattern therefore never
+ * take the room of cached values, and entries are indexed by player so they can be evicted on quit.
+ * <br>Values are computed outside of the cache, an expansion requesting other placeholders from
+ * within {@code onRequest} can therefore never dead-lock on it.
+ */
+@ApiStatus.Internal
+public final class ValueCache {
+
+  @NotNull
+  private final List<Rule> rules;
+  @NotNull
+  private final Cache<Key, Entry> entries;
+  @NotNull
+  private final Cache<String, Long> durations;
+  @NotNull
+  private final Map<UUID, Set<Key>> players = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  private ValueCache(@NotNull final List<Rule> rules, final long maximumSize) {
+    this.rules = rules;
+    this.entries = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .removalListener(this::onRemoval)
+        .build();
+    this.durations = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .build();
+  }
+
+  /**
+   * Creates the cache declared by the provided expansion.
+   *
+   * @param memoizable the expansion declaring its cache durations
+   * @return the cache, or null if the expansion declares no positive duration
+   * @throws java.util.regex.PatternSyntaxException if one of the declared patterns is invalid
+   */
+  @Nullable
+  public static ValueCache of(@NotNull final Memoizable memoizable) {
+    final Map<String, Long> durations = memoizable.getCacheDurations();
+    final ImmutableList.Builder<Rule> rules = ImmutableList.builder();
+
+    for (final Map.Entry<String, Long> duration : durations.entrySet()) {
+      if (duration.getKey() == null || duration.getValue() == null) {
+        continue;
+      }
+
+      rules.add(new Rule(Pattern.compile(duration.getKey()),
+          TimeUnit.MILLISECONDS.toNanos(Math.max(0, duration.getValue()))));
+    }
+
+    final List<Rule> built = rules.build();
+    if (built.stream().noneMatch(rule -> rule.duration > 0)) {
+      return null;
+    }
+
+    return new ValueCache(built, Math.max(1, memoizable.getMaximumCacheSize()));
+  }
+
+  /**
+   * Returns the cached value for the provided player and parameters, requesting it from the
+   * expansion if it is absent or expired.
+   *
+   * @param expansion the expansion this cache belongs to
+   * @param player the player to request the value for
+   * @param params the parameters of the placeholder
+   * @return the value, as returned by the expansion
+   */
+  @Nullable
+  public String request(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final String params) {
+    return request(expansion, player, params, null);
+  }
+
+  /**
+   * Returns the cached value for the provided player and parameters, requesting it from the
+   * expansion if it is absent or expired.
+   *
+   * @param expansion the expansion this cache belongs to
+   * @param player the player to request the value for
+   * @param params the parameters of the placeholder
+   * @param recording the event recording this request, marked when the value is cached
+   * @return the value, as returned by the expansion
+   */
+  @Nullable
+  public String request(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final String params,
+      @Nullable final ExpansionRequestEvent recording) {
+    final long duration = durationOf(params);
+    if (duration == 0) {
+      return expansion.onRequest(player, params);
+    }
+
+    final Key key = new Key(player == null ? null : player.getUniqueId(), params);
+    final Entry entry = entries.getIfPresent(key);
+
+    if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+      hits.increment();
+      if (recording != null) {
+        recording.cacheHit();
+      }
+      return entry.value;
+    }
+
+    misses.increment();
+
+    final String value = expansion.onRequest(player, params);
+    store(key, new Entry(value, System.nanoTime() + duration));
+
+    return value;
+  }
+
+  /**
+   * Returns the cached values for the provided player and parameters, requesting the absent or
+   * expired ones from the expansion in a single batch.
+   *
+   * @param expansion the expansion this cache belongs to, which must be {@link Batchable}
+   * @param player the player to request the values for
+   * @param params the distinct parameters of the placeholders
+   * @param recording the event recording this request, marked when every value is cached
+   * @return the values, as returned by the expansion
+   */
+  @NotNull
+  public Map<String, String> requestBatch(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final List<String> params,
+      @Nullable final ExpansionRequestEvent recording) {
+    final UUID uuid = player == null ? null : player.getUniqueId();
+    final Map<String, String> values = new HashMap<>();
+
+    final List<String> requested = new ArrayList<>(params.size());
+
+    for (final String param : params) {
+      if (durationOf(param) != 0) {
+        final Entry entry = entries.getIfPresent(new Key(uuid, param));
+
+        if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+          hits.increment();
+          values.put(param, entry.value);
+          continue;
+        }
+      }
+
+      requested.add(param);
+    }
+
+    if (requested.isEmpty()) {
+      if (recording != null) {
+        recording.cacheHit();
+      }
+      return values;
+    }
+
+    final Map<String, String> returned = ((Batchable) expansion).onRequestBatch(player, requested);
+
+    for (final String param : requested) {
+      final String value = returned == null ? null : returned.get(param);
+      final long duration = durationOf(param);
+
+      if (duration != 0) {
+        misses.increment();
+        store(new Key(uuid, param), new Entry(value, System.nanoTime() + duration));
+      }
+
+      values.put(param, value);
+    }
+
+    return values;
+  }
+
+  /**
+   * Drops the values cached for the provided player.
+   *
+   * @param uuid the unique id of the player
+   */
+  public void evict(@NotNull final UUID uuid) {
+    final Set<Key> keys = players.remove(uuid);
+    if (keys != null) {
+      entries.invalidateAll(keys);
+    }
+  }
+
+  /**
+   * Drops every cached value.
+   */
+  public void clear() {
+    entries.invalidateAll();
+    durations.invalidateAll();
+  }
+
+  /**
+   * The amount of requests answered from the cache.
+   *
+   * @return the amount of hits
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * The amount of requests to cacheable parameters which had to be computed.
+   *
+   * @return the amount of misses
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * The amount of values currently held.
+   *
+   * @return the size of the cache
+   */
+  public long size() {
+    return entries.size();
+  }
+
+  private long durationOf(@NotNull final String params) {
+    final Long known = durations.getIfPresent(params);
+    if (known != null) {
+      return known;
+    }
+
+    long duration = 0;
+    for (final Rule rule : rules) {
+      if (rule.pattern.matcher(params).matches()) {
+        duration = rule.duration;
+        break;
+      }
+    }
+
+    durations.put(params, duration);
+    return duration;
+  }
+
+  private void store(@NotNull final Key key, @NotNull final Entry entry) {
+    if (key.player != null) {
+      players.compute(key.player, (uuid, keys) -> {
+        final Set<Key> indexed = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+        indexed.add(key);
+        return indexed;
+      });
+    }
+
+    entries.put(key, entry);
+  }
+
+  private void onRemoval(@NotNull final RemovalNotification<Key, Entry> notification) {
+    final Key key = notification.getKey();
+    if (key == null || key.player == null || notification.getCause() == RemovalCause.REPLACED) {
+      return;
+    }
+
+    players.computeIfPresent(key.player, (uuid, keys) -> {
+      keys.remove(key);
+      return keys.isEmpty() ? null : keys;
+    });
+  }
+
+
+  private static final class Rule {
+
+    @NotNull
+    private final Pattern pattern;
+    private final long duration;
+
+    private Rule(@NotNull final Pattern pattern, final long duration) {
+      this.pattern = pattern;
+      this.duration = duration;
+    }
+  }
+
+  private static final class Key {
+
+    @Nullable
+    private final UUID player;
+    @NotNull
+    private final String params;
+
+    private Key(@Nullable final UUID player, @NotNull final String params) {
+      this.player = player;
+      this.params = params;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+
+      final Key key = (Key) o;
+      return Objects.equals(player, key.player) && params.equals(key.params);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Objects.hashCode(player) + params.hashCode();
+    }
+  }
+
+  private static final class Entry {
+
+    @Nullable
+    private final String value;
+    private final long expiresAt;
+
+    private Entry(@Nullable final String value, final long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+}
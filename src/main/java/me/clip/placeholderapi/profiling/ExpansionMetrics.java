@@ -0,0 +1,103 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The requests made to the placeholders of a single expansion.
+ */
+public final class ExpansionMetrics {
+
+  @NotNull
+  private final String identifier;
+  @NotNull
+  private final LongAdder requests = new LongAdder();
+  @NotNull
+  private final LongAdder errors = new LongAdder();
+  @NotNull
+  private final LongAdder nulls = new LongAdder();
+  @NotNull
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  ExpansionMetrics(@NotNull final String identifier) {
+    this.identifier = identifier;
+  }
+
+  @ApiStatus.Internal
+  public void record(final long nanos, final boolean nullResult) {
+    requests.increment();
+    if (nullResult) {
+      nulls.increment();
+    }
+
+    latency.record(nanos);
+  }
+
+  @ApiStatus.Internal
+  public void recordError(final long nanos) {
+    requests.increment();
+    errors.increment();
+    latency.record(nanos);
+  }
+
+  @NotNull
+  public String getIdentifier() {
+    return identifier;
+  }
+
+  /**
+   * @return the number of requests, including those which failed
+   */
+  public long getRequests() {
+    return requests.sum();
+  }
+
+  /**
+   * @return the number of requests which threw an exception
+   */
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  /**
+   * @return the number of requests which returned {@code null}
+   */
+  public long getNulls() {
+    return nulls.sum();
+  }
+
+  @NotNull
+  public LatencyHistogram.Snapshot getLatency() {
+    return latency.snapshot();
+  }
+
+  void reset() {
+    requests.reset();
+    errors.reset();
+    nulls.reset();
+    latency.reset();
+  }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds.
+ *
+ * <p>Buckets are log-linear: every power of two is split into {@value #SUB_BUCKETS} buckets of
+ * equal width, so the error of a recorded value is at most a quarter of its magnitude, from
+ * nanoseconds to minutes, in a few hundred counters. Counters are striped by thread so that
+ * threads recording at the same time rarely write to the same cache lines.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 2;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  // up to 2^40 ns, about 18 minutes, longer latencies land in the last bucket
+  private static final int MAX_EXPONENT = 40;
+  private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+  private static final int STRIPES = Math.min(8,
+      Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+  @NotNull
+  private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+  @NotNull
+  private final LongAdder sum = new LongAdder();
+  @NotNull
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  public LatencyHistogram() {
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new AtomicLongArray(BUCKETS);
+    }
+  }
+
+  /**
+   * Records a latency.
+   *
+   * @param nanos the latency in nanoseconds, negative values are recorded as 0
+   */
+  public void record(final long nanos) {
+    final long value = Math.max(nanos, 0);
+    final int stripe = (int) Thread.currentThread().threadId() & (STRIPES - 1);
+
+    stripes[stripe].incrementAndGet(bucketOf(value));
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  @NotNull
+  public Snapshot snapshot() {
+    final long[] counts = new long[BUCKETS];
+    for (final AtomicLongArray stripe : stripes) {
+      for (int i = 0; i < BUCKETS; i++) {
+        counts[i] += stripe.get(i);
+      }
+    }
+
+    return new Snapshot(counts, sum.sum(), max.get());
+  }
+
+  public void reset() {
+    for (final AtomicLongArray stripe : stripes) {
+      for (int i = 0; i < BUCKETS; i++) {
+        stripe.set(i, 0);
+      }
+    }
+
+    sum.reset();
+    max.reset();
+  }
+
+  static int bucketOf(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    final int exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent > MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+
+    final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * The highest value of a bucket.
+   */
+  static long upperBoundOf(final int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    final long subBucket = bucket % SUB_BUCKETS;
+    return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+
+
+  /**
+   * The latencies recorded by a histogram at some point in time.
+   */
+  public static final class Snapshot {
+
+    @NotNull
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    private Snapshot(@NotNull final long[] counts, final long sum, final long max) {
+      long count = 0;
+      for (final long bucket : counts) {
+        count += bucket;
+      }
+
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * @return the sum of the recorded latencies, in nanoseconds
+     */
+    public long getSum() {
+      return sum;
+    }
+
+    /**
+     * @return the mean of the recorded latencies in nanoseconds, 0 if none was recorded
+     */
+    public long getMean() {
+      return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * @return the highest recorded latency, in nanoseconds
+     */
+    public long getMax() {
+      return max;
+    }
+
+    /**
+     * An upper bound of the latency below which the provided share of the recorded latencies
+     * fall, accurate to the width of its bucket.
+     *
+     * @param quantile the share of latencies, between 0 and 1
+     * @return the latency in nanoseconds, 0 if none was recorded
+     */
+    public long getPercentile(final double quantile) {
+      if (count == 0) {
+        return 0;
+      }
+
+      final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(upperBoundOf(i), max);
+        }
+      }
+
+      return max;
+    }
+
+  }
+
+}
@@ -0,0 +1,298 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import me.clip.placeholderapi.PlaceholderAPIPlugin;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.expansion.manager.CircuitBreaker;
+import me.clip.placeholderapi.expansion.manager.CloudExpansionManager;
+import me.clip.placeholderapi.expansion.manager.LocalExpansionManager;
+import me.clip.placeholderapi.expansion.manager.ValueCache;
+import me.clip.placeholderapi.scheduler.scheduling.schedulers.SchedulerStatistics;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Serves the statistics of PlaceholderAPI in the OpenMetrics text format, for Prometheus and
+ * compatible scrapers, at {@code /metrics}.
+ *
+ * <p>Scrapes are answered from a dedicated thread and only read counters which are maintained as
+ * things happen, nothing is ever computed on or scheduled to a tick thread.
+ */
+@ApiStatus.Internal
+public final class MetricsExporter implements AutoCloseable {
+
+  private static final String PREFIX = "placeholderapi_";
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+  @NotNull
+  private final HttpServer server;
+  @NotNull
+  private final ExecutorService executor;
+  @NotNull
+  private final Consumer<OpenMetricsWriter> collector;
+
+  MetricsExporter(@NotNull final InetSocketAddress address,
+      @NotNull final Consumer<OpenMetricsWriter> collector) throws IOException {
+    this.collector = collector;
+    this.server = HttpServer.create(address, 0);
+    this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("placeholderapi-exporter").setDaemon(true).build());
+
+    server.setExecutor(executor);
+    server.createContext("/metrics", this::handle);
+    server.start();
+  }
+
+  /**
+   * Starts serving the statistics of the plugin.
+   *
+   * @param plugin the plugin whose statistics are served
+   * @param host the address to listen on
+   * @param port the port to listen on
+   * @return the running exporter
+   * @throws IOException if the address cannot be bound
+   */
+  @NotNull
+  public static MetricsExporter start(@NotNull final PlaceholderAPIPlugin plugin,
+      @NotNull final String host, final int port) throws IOException {
+    return new MetricsExporter(new InetSocketAddress(host, port), writer -> collect(plugin, writer));
+  }
+
+  /**
+   * @return the address the exporter listens on
+   */
+  @NotNull
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(@NotNull final HttpExchange exchange) throws IOException {
+    try (exchange) {
+      final String method = exchange.getRequestMethod();
+      if (!method.equals("GET") && !method.equals("HEAD")) {
+        exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+
+      final OpenMetricsWriter writer = new OpenMetricsWriter();
+      collector.accept(writer);
+      final byte[] body = writer.finish().getBytes(StandardCharsets.UTF_8);
+
+      exchange.getResponseHeaders().set("Content-Type", OpenMetricsWriter.CONTENT_TYPE);
+      if (method.equals("HEAD")) {
+        exchange.sendResponseHeaders(200, -1);
+        return;
+      }
+
+      exchange.sendResponseHeaders(200, body.length);
+      try (final OutputStream output = exchange.getResponseBody()) {
+        output.write(body);
+      }
+    } catch (final RuntimeException ex) {
+      exchange.sendResponseHeaders(500, -1);
+    }
+  }
+
+  private static void collect(@NotNull final PlaceholderAPIPlugin plugin,
+      @NotNull final OpenMetricsWriter writer) {
+    final LocalExpansionManager local = plugin.getLocalExpansionManager();
+    final CloudExpansionManager cloud = plugin.getCloudExpansionManager();
+
+    writer.family(PREFIX + "expansions", "gauge", null, "Registered expansions")
+        .sample(PREFIX + "expansions", local.getExpansions().size());
+
+    collectRequests(writer);
+    collectExpansions(local, writer);
+
+    writer.family(PREFIX + "expansion_scan_seconds", "gauge", "seconds",
+            "Duration of the last scan of the expansions folder")
+        .seconds(PREFIX + "expansion_scan_seconds", local.getLastScanNanos())
+        .family(PREFIX + "expansion_scan_jars", "gauge", null,
+            "Jars found by the last scan of the expansions folder")
+        .sample(PREFIX + "expansion_scan_jars", local.getLastScanJars())
+        .family(PREFIX + "expansion_scan_indexed_jars", "gauge", null,
+            "Jars of the last scan answered by the expansion index")
+        .sample(PREFIX + "expansion_scan_indexed_jars", local.getLastScanIndexed());
+
+    writer.family(PREFIX + "ecloud_fetches", "counter", null,
+            "Fetches of the expansion index from the eCloud")
+        .sample(PREFIX + "ecloud_fetches_total", cloud.getFetches())
+        .family(PREFIX + "ecloud_fetch_failures", "counter", null,
+            "Failed fetches of the expansion index from the eCloud")
+        .sample(PREFIX + "ecloud_fetch_failures_total", cloud.getFetchFailures())
+        .family(PREFIX + "ecloud_fetch_seconds", "gauge", "seconds",
+            "Duration of the last fetch of the expansion index from the eCloud")
+        .seconds(PREFIX + "ecloud_fetch_seconds", cloud.getLastFetchNanos());
+
+    final SchedulerStatistics statistics = plugin.getScheduler().getStatistics();
+    if (statistics != null) {
+      collectScheduler(statistics, writer);
+    }
+  }
+
+  private static void collectRequests(@NotNull final OpenMetricsWriter writer) {
+    final PlaceholderMetrics metrics = PlaceholderMetrics.getInstance();
+    if (!metrics.isEnabled()) {
+      return;
+    }
+
+    writer.family(PREFIX + "expansion_requests", "counter", null,
+        "Placeholder requests made to an expansion");
+    for (final ExpansionMetrics expansion : metrics.getExpansions()) {
+      writer.sample(PREFIX + "expansion_requests_total", expansion.getRequests(),
+          "expansion", expansion.getIdentifier());
+    }
+
+    writer.family(PREFIX + "expansion_request_errors", "counter", null,
+        "Placeholder requests which threw");
+    for (final ExpansionMetrics expansion : metrics.getExpansions()) {
+      writer.sample(PREFIX + "expansion_request_errors_total", expansion.getErrors(),
+          "expansion", expansion.getIdentifier());
+    }
+
+    writer.family(PREFIX + "expansion_request_nulls", "counter", null,
+        "Placeholder requests which returned no value");
+    for (final ExpansionMetrics expansion : metrics.getExpansions()) {
+      writer.sample(PREFIX + "expansion_request_nulls_total", expansion.getNulls(),
+          "expansion", expansion.getIdentifier());
+    }
+
+    final String latency = PREFIX + "expansion_request_seconds";
+    writer.family(latency, "summary", "seconds", "Latency of placeholder requests");
+    for (final ExpansionMetrics expansion : metrics.getExpansions()) {
+      final LatencyHistogram.Snapshot snapshot = expansion.getLatency();
+      final String identifier = expansion.getIdentifier();
+
+      for (final double quantile : QUANTILES) {
+        writer.seconds(latency, snapshot.getPercentile(quantile),
+            "expansion", identifier, "quantile", Double.toString(quantile));
+      }
+      writer.seconds(latency + "_sum", snapshot.getSum(), "expansion", identifier)
+          .sample(latency + "_count", snapshot.getCount(), "expansion", identifier);
+    }
+  }
+
+  private static void collectExpansions(@NotNull final LocalExpansionManager local,
+      @NotNull final OpenMetricsWriter writer) {
+    writer.family(PREFIX + "value_cache_hits", "counter", null,
+        "Placeholder requests answered from the value cache of an expansion");
+    for (final PlaceholderExpansion expansion : local.getExpansions()) {
+      final ValueCache cache = local.getValueCache(expansion);
+      if (cache != null) {
+        writer.sample(PREFIX + "value_cache_hits_total", cache.getHits(),
+            "expansion", expansion.getIdentifier());
+      }
+    }
+
+    writer.family(PREFIX + "value_cache_misses", "counter", null,
+        "Placeholder requests to cacheable parameters which had to be computed");
+    for (final PlaceholderExpansion expansion : local.getExpansions()) {
+      final ValueCache cache = local.getValueCache(expansion);
+      if (cache != null) {
+        writer.sample(PREFIX + "value_cache_misses_total", cache.getMisses(),
+            "expansion", expansion.getIdentifier());
+      }
+    }
+
+    writer.family(PREFIX + "circuit_breaker_open", "gauge", null,
+        "Whether the circuit breaker of an expansion stops requesting it");
+    for (final PlaceholderExpansion expansion : local.getExpansions()) {
+      final CircuitBreaker breaker = local.getCircuitBreaker(expansion);
+      if (breaker != null) {
+        writer.sample(PREFIX + "circuit_breaker_open",
+            breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1,
+            "expansion", expansion.getIdentifier());
+      }
+    }
+  }
+
+  private static void collectScheduler(@NotNull final SchedulerStatistics statistics,
+      @NotNull final OpenMetricsWriter writer) {
+    final SchedulerStatistics.Kind[] kinds = SchedulerStatistics.Kind.values();
+
+    writer.family(PREFIX + "scheduler_tasks", "counter", null, "Tasks submitted to a scheduler");
+    for (final SchedulerStatistics.Kind kind : kinds) {
+      writer.sample(PREFIX + "scheduler_tasks_total", statistics.getScheduled(kind),
+          "scheduler", name(kind));
+    }
+
+    writer.family(PREFIX + "scheduler_executions", "counter", null,
+        "Runs of scheduled tasks, repeating tasks count once per run");
+    for (final SchedulerStatistics.Kind kind : kinds) {
+      writer.sample(PREFIX + "scheduler_executions_total", statistics.getExecutions(kind),
+          "scheduler", name(kind));
+    }
+
+    writer.family(PREFIX + "scheduler_failures", "counter", null,
+        "Runs of scheduled tasks which threw");
+    for (final SchedulerStatistics.Kind kind : kinds) {
+      writer.sample(PREFIX + "scheduler_failures_total", statistics.getFailures(kind),
+          "scheduler", name(kind));
+    }
+
+    writer.family(PREFIX + "scheduler_execution_seconds", "counter", "seconds",
+        "Time spent running scheduled tasks");
+    for (final SchedulerStatistics.Kind kind : kinds) {
+      writer.seconds(PREFIX + "scheduler_execution_seconds_total",
+          statistics.getExecutionNanos(kind), "scheduler", name(kind));
+    }
+
+    writer.family(PREFIX + "scheduler_queued_tasks", "gauge", null,
+        "Tasks without delay which did not start yet");
+    for (final SchedulerStatistics.Kind kind : kinds) {
+      writer.sample(PREFIX + "scheduler_queued_tasks", statistics.getQueued(kind),
+          "scheduler", name(kind));
+    }
+
+    writer.family(PREFIX + "scheduler_queue_wait_seconds", "counter", "seconds",
+        "Time tasks without delay waited before starting");
+    for (final SchedulerStatistics.Kind kind : kinds) {
+      writer.seconds(PREFIX + "scheduler_queue_wait_seconds_total",
+          statistics.getQueueWaitNanos(kind), "scheduler", name(kind));
+    }
+  }
+
+  @NotNull
+  private static String name(@NotNull final SchedulerStatistics.Kind kind) {
+    return kind.name().toLowerCase(Locale.ROOT);
+  }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Writes metrics in the OpenMetrics text format.
+ *
+ * <p>Samples must be written right after the family they belong to, the families are written in
+ * the order they are declared in.
+ */
+final class OpenMetricsWriter {
+
+  static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+  @NotNull
+  private final StringBuilder builder = new StringBuilder(4096);
+
+  /**
+   * Declares a metric family.
+   *
+   * @param name the name of the family, without the {@code _total} suffix of counters
+   * @param type the type of the family, such as counter, gauge or summary
+   * @param unit the unit the name of the family ends with, or null
+   * @param help the description of the family
+   */
+  @NotNull
+  OpenMetricsWriter family(@NotNull final String name, @NotNull final String type,
+      @Nullable final String unit, @NotNull final String help) {
+    builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    if (unit != null) {
+      builder.append("# UNIT ").append(name).append(' ').append(unit).append('\n');
+    }
+    builder.append("# HELP ").append(name).append(' ');
+    escape(help, false);
+    builder.append('\n');
+    return this;
+  }
+
+  /**
+   * Writes a sample with an integer value.
+   *
+   * @param name the name of the sample, including its suffix such as {@code _total}
+   * @param value the value
+   * @param labels the names and values of the labels, alternately
+   */
+  @NotNull
+  OpenMetricsWriter sample(@NotNull final String name, final long value,
+      @NotNull final String... labels) {
+    labels(name, labels);
+    builder.append(value).append('\n');
+    return this;
+  }
+
+  /**
+   * Writes a sample with a floating point value.
+   *
+   * @param name the name of the sample, including its suffix such as {@code _total}
+   * @param value the value
+   * @param labels the names and values of the labels, alternately
+   */
+  @NotNull
+  OpenMetricsWriter sample(@NotNull final String name, final double value,
+      @NotNull final String... labels) {
+    labels(name, labels);
+    builder.append(value).append('\n');
+    return this;
+  }
+
+  /**
+   * Writes a duration in nanoseconds as seconds.
+   */
+  @NotNull
+  OpenMetricsWriter seconds(@NotNull final String name, final long nanos,
+      @NotNull final String... labels) {
+    return sample(name, nanos / 1e9, labels);
+  }
+
+  /**
+   * Terminates the exposition.
+   *
+   * @return the exposition
+   */
+  @NotNull
+  String finish() {
+    return builder.append("# EOF\n").toString();
+  }
+
+  private void labels(@NotNull final String name, @NotNull final String[] labels) {
+    builder.append(name);
+
+    if (labels.length != 0) {
+      builder.append('{');
+      for (int i = 0; i + 1 < labels.length; i += 2) {
+        if (i != 0) {
+          builder.append(',');
+        }
+        builder.append(labels[i]).append("=\"");
+        escape(labels[i + 1], true);
+        builder.append('"');
+      }
+      builder.append('}');
+    }
+
+    builder.append(' ');
+  }
+
+  private void escape(@NotNull final String text, final boolean quotes) {
+    for (int i = 0; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (c == '\\') {
+        builder.append("\\\\");
+      } else if (c == '\n') {
+        builder.append("\\n");
+      } else if (c == '"' && quotes) {
+        builder.append("\\\"");
+      } else {
+        builder.append(c);
+      }
+    }
+  }
+
+}
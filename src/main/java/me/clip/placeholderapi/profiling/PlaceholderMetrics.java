@@ -0,0 +1,100 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Counts and times the requests made to expansions by the replacers, keyed by the identifier of
+ * the expansion.
+ *
+ * <p>Recording is off unless {@code placeholder_metrics} is enabled in the config, in which case
+ * each request costs two reads of {@link System#nanoTime()} and a few uncontended atomic adds.
+ */
+public final class PlaceholderMetrics {
+
+  private static final PlaceholderMetrics INSTANCE = new PlaceholderMetrics();
+
+  @NotNull
+  private final ConcurrentMap<String, ExpansionMetrics> expansions = new ConcurrentHashMap<>();
+  private volatile boolean enabled;
+
+  private PlaceholderMetrics() {
+  }
+
+  @NotNull
+  public static PlaceholderMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @ApiStatus.Internal
+  public void setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * @return the metrics of the expansion, creating them if nothing was recorded for it yet
+   */
+  @ApiStatus.Internal
+  @NotNull
+  public ExpansionMetrics of(@NotNull final String identifier) {
+    final ExpansionMetrics metrics = expansions.get(identifier);
+    return metrics != null ? metrics : expansions.computeIfAbsent(identifier, ExpansionMetrics::new);
+  }
+
+  @Nullable
+  public ExpansionMetrics getExpansion(@NotNull final String identifier) {
+    final ExpansionMetrics metrics = expansions.get(identifier);
+    if (metrics != null) {
+      return metrics;
+    }
+
+    return expansions.values().stream()
+        .filter(it -> it.getIdentifier().equalsIgnoreCase(identifier))
+        .findFirst()
+        .orElse(null);
+  }
+
+  @NotNull
+  public Collection<ExpansionMetrics> getExpansions() {
+    return ImmutableList.copyOf(expansions.values());
+  }
+
+  /**
+   * Clears everything recorded so far.
+   */
+  public void reset() {
+    expansions.values().forEach(ExpansionMetrics::reset);
+    expansions.clear();
+  }
+
+}
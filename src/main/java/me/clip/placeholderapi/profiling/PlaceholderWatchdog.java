@@ -0,0 +1,243 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import me.clip.placeholderapi.util.WarnThrottle;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Logs the stack of the threads which have been waiting on a placeholder request for longer than
+ * a threshold, such as an expansion querying a database from the thread rendering a scoreboard.
+ *
+ * <p>Every thread requesting placeholders owns a {@link Slot} holding the stack of its in-flight
+ * requests. Entering and leaving a request only writes to the slot of the calling thread, the
+ * slots are scanned from a dedicated thread, and stacks are only sampled once a request is late,
+ * so the watchdog costs next to nothing as long as nothing is slow. Reports go through a
+ * {@link WarnThrottle}, keyed by expansion, so a stuck expansion is not reported on every tick.
+ */
+@ApiStatus.Internal
+public final class PlaceholderWatchdog {
+
+  private static final PlaceholderWatchdog INSTANCE = new PlaceholderWatchdog();
+
+  // deeper requests, made by expansions parsing placeholders themselves, are not watched
+  private static final int MAX_DEPTH = 8;
+  private static final int MAX_STACK_FRAMES = 32;
+
+  @NotNull
+  private final Set<Slot> slots = ConcurrentHashMap.newKeySet();
+  @NotNull
+  private final ThreadLocal<Slot> slot = ThreadLocal.withInitial(this::register);
+
+  private volatile boolean enabled;
+  private long threshold;
+  @Nullable
+  private WarnThrottle throttle;
+  @Nullable
+  private ScheduledExecutorService scanner;
+
+  private PlaceholderWatchdog() {
+  }
+
+  @NotNull
+  public static PlaceholderWatchdog getInstance() {
+    return INSTANCE;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Starts watching placeholder requests, or stops if the threshold is 0 or less.
+   *
+   * @param threshold the duration after which a request is reported
+   * @param unit the unit of the threshold
+   * @param throttle where the late requests are reported
+   */
+  public synchronized void start(final long threshold, @NotNull final TimeUnit unit,
+      @NotNull final WarnThrottle throttle) {
+    stop();
+
+    if (threshold <= 0) {
+      return;
+    }
+
+    this.threshold = unit.toNanos(threshold);
+    this.throttle = throttle;
+
+    final long period = Math.max(this.threshold / 2, TimeUnit.MILLISECONDS.toNanos(10));
+    scanner = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("placeholderapi-watchdog").setDaemon(true).build());
+    scanner.scheduleWithFixedDelay(this::scan, period, period, TimeUnit.NANOSECONDS);
+
+    enabled = true;
+  }
+
+  public synchronized void stop() {
+    enabled = false;
+
+    if (scanner != null) {
+      scanner.shutdownNow();
+      scanner = null;
+    }
+
+    throttle = null;
+  }
+
+  /**
+   * Marks the start of a request on the calling thread, must be followed by {@link #exit(Slot)}
+   * in a finally block.
+   */
+  @NotNull
+  public Slot enter(@NotNull final String identifier, @NotNull final String params) {
+    final Slot current = slot.get();
+    final int depth = current.depth;
+
+    if (depth < MAX_DEPTH) {
+      final Frame frame = current.frames[depth];
+      frame.identifier = identifier;
+      frame.params = params;
+      frame.start = System.nanoTime();
+      frame.call++;
+    }
+
+    // publishes the frame to the scanner
+    current.depth = depth + 1;
+    return current;
+  }
+
+  public void exit(@NotNull final Slot current) {
+    current.depth--;
+  }
+
+  void scan() {
+    final WarnThrottle throttle = this.throttle;
+    if (throttle == null) {
+      return;
+    }
+
+    final long now = System.nanoTime();
+
+    for (final Slot current : slots) {
+      if (!current.thread.isAlive()) {
+        slots.remove(current);
+        continue;
+      }
+
+      final int depth = Math.min(current.depth, MAX_DEPTH);
+      if (depth == 0) {
+        continue;
+      }
+
+      final Frame frame = current.frames[depth - 1];
+      final long call = frame.call;
+      final long elapsed = now - frame.start;
+      final String identifier = frame.identifier;
+      final String params = frame.params;
+
+      if (elapsed < threshold || frame.reported == call) {
+        continue;
+      }
+
+      final StackTraceElement[] stack = current.thread.getStackTrace();
+
+      // the request completed while sampling, the stack would point at something else
+      if (current.depth < depth || frame.call != call) {
+        continue;
+      }
+
+      frame.reported = call;
+      throttle.warn("watchdog", identifier,
+          () -> describe(current.thread, identifier, params, elapsed, stack));
+    }
+  }
+
+  @NotNull
+  private Slot register() {
+    final Slot created = new Slot(Thread.currentThread());
+    slots.add(created);
+    return created;
+  }
+
+  @NotNull
+  private static String describe(@NotNull final Thread thread, @NotNull final String identifier,
+      @NotNull final String params, final long elapsed, @NotNull final StackTraceElement[] stack) {
+    final StringBuilder builder = new StringBuilder()
+        .append("Placeholder %").append(identifier).append('_').append(params)
+        .append("% has been running for ").append(TimeUnit.NANOSECONDS.toMillis(elapsed))
+        .append("ms on thread ").append(thread.getName()).append(':');
+
+    for (int i = 0; i < Math.min(stack.length, MAX_STACK_FRAMES); i++) {
+      builder.append("\n\tat ").append(stack[i]);
+    }
+
+    if (stack.length > MAX_STACK_FRAMES) {
+      builder.append("\n\t... ").append(stack.length - MAX_STACK_FRAMES).append(" more");
+    }
+
+    return builder.toString();
+  }
+
+
+  /**
+   * The in-flight requests of a thread, only written by that thread.
+   */
+  public static final class Slot {
+
+    @NotNull
+    private final Thread thread;
+    @NotNull
+    private final Frame[] frames = new Frame[MAX_DEPTH];
+    private volatile int depth;
+
+    private Slot(@NotNull final Thread thread) {
+      this.thread = thread;
+
+      for (int i = 0; i < frames.length; i++) {
+        frames[i] = new Frame();
+      }
+    }
+
+  }
+
+  private static final class Frame {
+
+    private String identifier;
+    private String params;
+    private long start;
+    // distinguishes successive requests reusing this frame
+    private long call;
+    // only touched by the scanner
+    private long reported;
+
+  }
+
+}
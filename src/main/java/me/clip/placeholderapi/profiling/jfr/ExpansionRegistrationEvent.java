@@ -0,0 +1,67 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The registration of an expansion, from the merge of its config defaults to the registration
+ * event.
+ */
+@Name("placeholderapi.ExpansionRegistration")
+@Label("Expansion Registration")
+@Category("PlaceholderAPI")
+@Description("Expansion registered by PlaceholderAPI")
+public final class ExpansionRegistrationEvent extends Event {
+
+  @Label("Identifier")
+  String identifier;
+
+  @Label("Version")
+  String version;
+
+  @Label("Registered")
+  @Description("False if the expansion was rejected or the registration cancelled")
+  boolean registered;
+
+  /**
+   * Ends the event and commits it, unless it is disabled or below its threshold.
+   */
+  public void complete(@NotNull final String identifier, @Nullable final String version,
+      final boolean registered) {
+    if (!shouldCommit()) {
+      return;
+    }
+
+    this.identifier = identifier;
+    this.version = version;
+    this.registered = registered;
+    commit();
+  }
+
+}
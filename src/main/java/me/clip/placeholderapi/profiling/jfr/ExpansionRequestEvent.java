@@ -0,0 +1,88 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A single request made to an expansion by one of the replacers.
+ */
+@Name("placeholderapi.ExpansionRequest")
+@Label("Expansion Request")
+@Category("PlaceholderAPI")
+@Description("Value of a placeholder requested from its expansion")
+@StackTrace(false)
+public final class ExpansionRequestEvent extends Event {
+
+  private static final EventType TYPE = EventType.getEventType(ExpansionRequestEvent.class);
+
+  @Label("Identifier")
+  String identifier;
+
+  @Label("Parameters Length")
+  int paramsLength;
+
+  @Label("Relational")
+  boolean relational;
+
+  @Label("Cache Hit")
+  @Description("The value was served from the value cache of the expansion")
+  boolean cacheHit;
+
+  /**
+   * Whether this event is enabled in a running recording, requests pass a running event down to
+   * the value cache so it is only created when it is going to be used.
+   */
+  public static boolean isRecorded() {
+    return TYPE.isEnabled();
+  }
+
+  /**
+   * Marks the value as served from the value cache, only meaningful while the event is running.
+   */
+  public void cacheHit() {
+    cacheHit = true;
+  }
+
+  /**
+   * Ends the event and commits it, unless it is disabled or below its threshold.
+   */
+  public void complete(@NotNull final String identifier, final int paramsLength,
+      final boolean relational) {
+    if (!shouldCommit()) {
+      return;
+    }
+
+    this.identifier = identifier;
+    this.paramsLength = paramsLength;
+    this.relational = relational;
+    commit();
+  }
+
+}
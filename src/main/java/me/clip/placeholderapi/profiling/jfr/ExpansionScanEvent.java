@@ -0,0 +1,75 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling.jfr;
+
+import java.io.File;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The search for the expansion class of a jar in the expansions folder.
+ */
+@Name("placeholderapi.ExpansionScan")
+@Label("Expansion Jar Scan")
+@Category("PlaceholderAPI")
+@Description("Expansion class looked up in a jar of the expansions folder")
+@StackTrace(false)
+public final class ExpansionScanEvent extends Event {
+
+  @Label("Jar")
+  String jar;
+
+  @Label("Jar Size")
+  @DataAmount(DataAmount.BYTES)
+  long jarSize;
+
+  @Label("Expansion Class")
+  String expansionClass;
+
+  @Label("Indexed")
+  @Description("The jar did not change since it was last scanned, its result was reused")
+  boolean indexed;
+
+  /**
+   * Ends the event and commits it, unless it is disabled or below its threshold.
+   */
+  public void complete(@NotNull final File jar, @Nullable final Class<?> expansionClass,
+      final boolean indexed) {
+    if (!shouldCommit()) {
+      return;
+    }
+
+    this.jar = jar.getName();
+    this.jarSize = jar.length();
+    this.expansionClass = expansionClass == null ? null : expansionClass.getName();
+    this.indexed = indexed;
+    commit();
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The replacement of every placeholder in a text.
+ */
+@Name("placeholderapi.TextReplacement")
+@Label("Placeholder Text Replacement")
+@Category("PlaceholderAPI")
+@Description("Placeholders of a text replaced by one of the replacers")
+@StackTrace(false)
+public final class TextReplacementEvent extends Event {
+
+  private static final EventType TYPE = EventType.getEventType(TextReplacementEvent.class);
+
+  @Label("Replacer")
+  @Description("The replacer which scanned the text: chars, relational, template or batch")
+  String replacer;
+
+  @Label("Text Length")
+  @DataAmount(DataAmount.BYTES)
+  int textLength;
+
+  @Label("Placeholders")
+  @Description("Well-formed placeholders found in the text")
+  int placeholders;
+
+  @Label("Replaced")
+  @Description("Placeholders whose expansion returned a value")
+  int replaced;
+
+  /**
+   * Whether this event is enabled in a running recording, replacers only create it when it is
+   * going to be committed so plain text is replaced without any allocation.
+   */
+  public static boolean isRecorded() {
+    return TYPE.isEnabled();
+  }
+
+  /**
+   * Ends the event and commits it, unless it is disabled or below its threshold.
+   */
+  public void complete(@NotNull final String replacer, final int textLength,
+      final int placeholders, final int replaced) {
+    if (!shouldCommit()) {
+      return;
+    }
+
+    this.replacer = replacer;
+    this.textLength = textLength;
+    this.placeholders = placeholders;
+    this.replaced = replaced;
+    commit();
+  }
+
+}
@@ -20,16 +20,41 @@
 
 package me.clip.placeholderapi.replacer;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
+import me.clip.placeholderapi.expansion.Batchable;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import org.bukkit.ChatColor;
+import me.clip.placeholderapi.profiling.jfr.TextReplacementEvent;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * Replaces placeholders by scanning the text directly.
+ *
+ * <p>Nothing is allocated for a text without placeholders or whose placeholders could not be
+ * resolved, the same {@link String} instance is returned. Identifiers are resolved from the text
+ * through a small per-thread table of lowercase identifiers instead of being copied out of it.
+ * <br>The first placeholder of a {@link Batchable} expansion requests all of its placeholders in
+ * the rest of the text in a single batch, when there is more than one.
+ */
 public final class CharsReplacer implements Replacer {
 
+  private static final ThreadLocal<Identifiers> IDENTIFIERS =
+      ThreadLocal.withInitial(Identifiers::new);
+
+  /**
+   * Marks an expansion whose placeholders are requested one by one, it appears only once.
+   */
+  private static final Map<String, String> UNBATCHED = Collections.unmodifiableMap(new HashMap<>());
+
   @NotNull
   private final Closure closure;
 
@@ -42,96 +67,232 @@ public final class CharsReplacer implements Replacer {
   @Override
   public String apply(@NotNull final String text, @Nullable final OfflinePlayer player,
       @NotNull final Function<String, @Nullable PlaceholderExpansion> lookup) {
-    final char[] chars = text.toCharArray();
-    final StringBuilder builder = new StringBuilder(text.length());
+    final TextReplacementEvent recording = TextReplacementEvent.isRecorded()
+        ? new TextReplacementEvent() : null;
+    if (recording != null) {
+      recording.begin();
+    }
 
-    final StringBuilder identifier = new StringBuilder();
-    final StringBuilder parameters = new StringBuilder();
+    final int length = text.length();
 
-    for (int i = 0; i < chars.length; i++) {
-      final char l = chars[i];
+    StringBuilder builder = null;
+    Identifiers identifiers = null;
+    Map<PlaceholderExpansion, Map<String, String>> batches = null;
+    int copied = 0;
+    int placeholders = 0;
+    int replaced = 0;
 
-      if (l != closure.head || i + 1 >= chars.length) {
-        builder.append(l);
+    for (int i = text.indexOf(closure.head); i != -1 && i + 1 < length;
+        i = text.indexOf(closure.head, i)) {
+      final int start = i;
+      final int scanned = scan(text, start, closure);
+
+      // the character closing the token (or the end of the text) is never re-scanned
+      final int end = scanned < 0 ? ~scanned : scanned;
+      i = end + 1;
+
+      // malformed tokens are kept as they are written
+      if (scanned < 0) {
         continue;
       }
 
-      boolean identified = false;
-      boolean invalid = true;
-      boolean hadSpace = false;
+      final int split = split(text, start, end);
+      placeholders++;
 
-      while (++i < chars.length) {
-        final char p = chars[i];
+      if (identifiers == null) {
+        identifiers = IDENTIFIERS.get();
+      }
 
-        if (p == ' ' && !identified) {
-          hadSpace = true;
-          break;
-        }
-        if (p == closure.tail) {
-          invalid = false;
-          break;
-        }
+      final PlaceholderExpansion placeholder =
+          lookup.apply(identifiers.get(text, start + 1, split == -1 ? end : split));
+      if (placeholder == null) {
+        continue;
+      }
+
+      final String params = split == -1 ? "" : text.substring(split + 1, end);
+      Map<String, String> batch = UNBATCHED;
 
-        if (p == '_' && !identified) {
-          identified = true;
-          continue;
+      if (placeholder instanceof Batchable) {
+        if (batches == null) {
+          batches = new IdentityHashMap<>(4);
         }
 
-        if (identified) {
-          parameters.append(p);
-        } else {
-          identifier.append(p);
+        batch = batches.get(placeholder);
+        if (batch == null) {
+          batch = requestBatch(text, start, placeholder, player, lookup, identifiers);
+          batches.put(placeholder, batch);
         }
       }
 
-      final String identifierString = identifier.toString();
-      final String lowercaseIdentifierString = identifierString.toLowerCase(Locale.ROOT);
-      final String parametersString = parameters.toString();
+      final String replacement = batch == UNBATCHED
+          ? ExpansionInvoker.request(placeholder, player, params) : batch.get(params);
+      if (replacement == null) {
+        continue;
+      }
 
-      identifier.setLength(0);
-      parameters.setLength(0);
+      replaced++;
 
-      if (invalid) {
-        builder.append(closure.head).append(identifierString);
+      if (builder == null) {
+        builder = new StringBuilder(length + 16);
+      }
 
-        if (identified) {
-          builder.append('_').append(parametersString);
-        }
+      builder.append(text, copied, start).append(replacement);
+      copied = end + 1;
+    }
 
-        if (hadSpace) {
-          builder.append(' ');
-        }
+    final String result = builder == null ? text
+        : builder.append(text, copied, length).toString();
+
+    if (recording != null) {
+      recording.complete("chars", length, placeholders, replaced);
+    }
+    return result;
+  }
+
+  /**
+   * Requests the placeholders of the expansion from the one starting at {@code from} to the end
+   * of the text in a single batch.
+   *
+   * @return the values by parameters, or {@link #UNBATCHED} if the expansion appears only once
+   */
+  @NotNull
+  private Map<String, String> requestBatch(@NotNull final String text, final int from,
+      @NotNull final PlaceholderExpansion expansion, @Nullable final OfflinePlayer player,
+      @NotNull final Function<String, @Nullable PlaceholderExpansion> lookup,
+      @NotNull final Identifiers identifiers) {
+    final int length = text.length();
+    final Set<String> params = new LinkedHashSet<>();
+    int placeholders = 0;
+
+    for (int i = from; i != -1 && i + 1 < length; i = text.indexOf(closure.head, i)) {
+      final int start = i;
+      final int scanned = scan(text, start, closure);
+      i = (scanned < 0 ? ~scanned : scanned) + 1;
+
+      if (scanned < 0) {
         continue;
       }
 
-      final PlaceholderExpansion placeholder = lookup.apply(lowercaseIdentifierString);
-      if (placeholder == null) {
-        builder.append(closure.head).append(identifierString);
-
-        if (identified) {
-          builder.append('_');
-        }
+      final int end = scanned;
+      final int split = split(text, start, end);
 
-        builder.append(parametersString).append(closure.tail);
+      if (lookup.apply(identifiers.get(text, start + 1, split == -1 ? end : split)) != expansion) {
         continue;
       }
 
-      final String replacement = placeholder.onRequest(player, parametersString);
-      if (replacement == null) {
-        builder.append(closure.head).append(identifierString);
+      placeholders++;
+      params.add(split == -1 ? "" : text.substring(split + 1, end));
+    }
+
+    return placeholders < 2 ? UNBATCHED
+        : ExpansionInvoker.requestBatch(expansion, player, new ArrayList<>(params));
+  }
 
-        if (identified) {
-          builder.append('_');
+  /**
+   * Scans the token opening at {@code start} up to the tail of the closure. A space before the
+   * first underscore, or reaching the end of the text, makes the token malformed.
+   *
+   * @return the index of the tail, or the complement ({@code ~}) of the index the scan stopped at
+   *     if the token is malformed
+   */
+  static int scan(@NotNull final String text, final int start, @NotNull final Closure closure) {
+    final int length = text.length();
+    boolean split = false;
+
+    for (int i = start + 1; i < length; i++) {
+      final char p = text.charAt(i);
+
+      if (p == closure.tail) {
+        return i;
+      }
+      if (p == ' ' && !split) {
+        return ~i;
+      }
+
+      if (p == '_') {
+        split = true;
+      }
+    }
+
+    return ~length;
+  }
+
+  /**
+   * The underscore separating the identifier of a well-formed token from its params.
+   *
+   * @return the index of the first underscore of the token, or -1 if it has no params
+   */
+  static int split(@NotNull final String text, final int start, final int end) {
+    for (int i = start + 1; i < end; i++) {
+      if (text.charAt(i) == '_') {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+
+  /**
+   * Per-thread table of lowercase identifiers, indexed by the hash of their characters.
+   *
+   * <p>A slot only ever holds a completed string, so recursive replacements on the same thread
+   * (an expansion setting placeholders itself) can share the table safely.
+   */
+  private static final class Identifiers {
+
+    private static final int SIZE = 256;
+
+    @Nullable
+    private final String[] table = new String[SIZE];
+
+
+    @NotNull
+    String get(@NotNull final String text, final int from, final int to) {
+      int hash = 0;
+
+      for (int i = from; i < to; i++) {
+        final char c = text.charAt(i);
+        if (c >= 0x80) {
+          // non ascii characters may change length when lowercased, leave them to the JDK
+          return text.substring(from, to).toLowerCase(Locale.ROOT);
         }
 
-        builder.append(parametersString).append(closure.tail);
-        continue;
+        hash = 31 * hash + lower(c);
       }
 
-      builder.append(replacement);
+      final int slot = (hash ^ (hash >>> 16)) & (SIZE - 1);
+      final String cached = table[slot];
+
+      if (cached != null && matches(cached, text, from, to)) {
+        return cached;
+      }
+
+      final String identifier = text.substring(from, to).toLowerCase(Locale.ROOT);
+      table[slot] = identifier;
+
+      return identifier;
+    }
+
+    private static boolean matches(@NotNull final String cached, @NotNull final String text,
+        final int from, final int to) {
+      if (cached.length() != to - from) {
+        return false;
+      }
+
+      for (int i = from; i < to; i++) {
+        if (cached.charAt(i - from) != lower(text.charAt(i))) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    private static char lower(final char c) {
+      return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
     }
 
-    return builder.toString();
   }
 
 }
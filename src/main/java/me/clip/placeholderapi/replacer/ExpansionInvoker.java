@@ -0,0 +1,348 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.replacer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import me.clip.placeholderapi.PlaceholderAPIPlugin;
+import me.clip.placeholderapi.expansion.Batchable;
+import me.clip.placeholderapi.expansion.Memoizable;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.expansion.Relational;
+import me.clip.placeholderapi.expansion.manager.CircuitBreaker;
+import me.clip.placeholderapi.expansion.manager.ValueCache;
+import me.clip.placeholderapi.profiling.ExpansionMetrics;
+import me.clip.placeholderapi.profiling.PlaceholderMetrics;
+import me.clip.placeholderapi.profiling.PlaceholderWatchdog;
+import me.clip.placeholderapi.profiling.jfr.ExpansionRequestEvent;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Requests the value of a placeholder from its expansion, going through the value cache of the
+ * expansion when it is {@link Memoizable}. Several placeholders of a {@link Batchable} expansion
+ * can be requested at once, the batch counting as a single request of the expansion. Requests
+ * are guarded by the {@link CircuitBreaker} of the expansion, recorded in the
+ * {@link PlaceholderMetrics} and watched by the {@link PlaceholderWatchdog} when they are enabled.
+ */
+final class ExpansionInvoker {
+
+  private ExpansionInvoker() {
+  }
+
+  @Nullable
+  static String request(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final String params) {
+    final CircuitBreaker breaker = breakerOf(expansion);
+    if (breaker == null) {
+      return watch(expansion, player, params);
+    }
+
+    final UUID uuid = player == null ? null : player.getUniqueId();
+    if (!breaker.tryAcquire()) {
+      return breaker.fallback(uuid, null, params);
+    }
+
+    final long start = System.nanoTime();
+    final String value;
+    try {
+      value = watch(expansion, player, params);
+    } catch (final RuntimeException | Error ex) {
+      breaker.onFailure();
+      throw ex;
+    }
+
+    breaker.onSuccess(uuid, null, params, value, System.nanoTime() - start);
+    return value;
+  }
+
+  @Nullable
+  static String requestRelational(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final Player one, @Nullable final Player two, @NotNull final String params) {
+    final CircuitBreaker breaker = breakerOf(expansion);
+    if (breaker == null) {
+      return watchRelational(expansion, one, two, params);
+    }
+
+    final UUID first = one == null ? null : one.getUniqueId();
+    final UUID second = two == null ? null : two.getUniqueId();
+    if (!breaker.tryAcquire()) {
+      return breaker.fallback(first, second, params);
+    }
+
+    final long start = System.nanoTime();
+    final String value;
+    try {
+      value = watchRelational(expansion, one, two, params);
+    } catch (final RuntimeException | Error ex) {
+      breaker.onFailure();
+      throw ex;
+    }
+
+    breaker.onSuccess(first, second, params, value, System.nanoTime() - start);
+    return value;
+  }
+
+  @NotNull
+  static Map<String, String> requestBatch(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final List<String> params) {
+    final CircuitBreaker breaker = breakerOf(expansion);
+    if (breaker == null) {
+      return watchBatch(expansion, player, params);
+    }
+
+    final UUID uuid = player == null ? null : player.getUniqueId();
+    if (!breaker.tryAcquire()) {
+      final Map<String, String> values = new HashMap<>();
+      for (final String param : params) {
+        values.put(param, breaker.fallback(uuid, null, param));
+      }
+      return values;
+    }
+
+    final long start = System.nanoTime();
+    final Map<String, String> values;
+    try {
+      values = watchBatch(expansion, player, params);
+    } catch (final RuntimeException | Error ex) {
+      breaker.onFailure();
+      throw ex;
+    }
+
+    breaker.onSuccess(uuid, values, System.nanoTime() - start);
+    return values;
+  }
+
+  @Nullable
+  private static String watch(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final String params) {
+    final PlaceholderWatchdog watchdog = PlaceholderWatchdog.getInstance();
+    if (!watchdog.isEnabled()) {
+      return measure(expansion, player, params);
+    }
+
+    final PlaceholderWatchdog.Slot slot = watchdog.enter(expansion.getIdentifier(), params);
+    try {
+      return measure(expansion, player, params);
+    } finally {
+      watchdog.exit(slot);
+    }
+  }
+
+  @Nullable
+  private static String watchRelational(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final Player one, @Nullable final Player two, @NotNull final String params) {
+    final PlaceholderWatchdog watchdog = PlaceholderWatchdog.getInstance();
+    if (!watchdog.isEnabled()) {
+      return measureRelational(expansion, one, two, params);
+    }
+
+    final PlaceholderWatchdog.Slot slot = watchdog.enter(expansion.getIdentifier(), params);
+    try {
+      return measureRelational(expansion, one, two, params);
+    } finally {
+      watchdog.exit(slot);
+    }
+  }
+
+  @NotNull
+  private static Map<String, String> watchBatch(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final List<String> params) {
+    final PlaceholderWatchdog watchdog = PlaceholderWatchdog.getInstance();
+    if (!watchdog.isEnabled()) {
+      return measureBatch(expansion, player, params);
+    }
+
+    final PlaceholderWatchdog.Slot slot = watchdog.enter(expansion.getIdentifier(),
+        String.join(",", params));
+    try {
+      return measureBatch(expansion, player, params);
+    } finally {
+      watchdog.exit(slot);
+    }
+  }
+
+  @Nullable
+  private static String measure(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final String params) {
+    final PlaceholderMetrics metrics = PlaceholderMetrics.getInstance();
+    if (!metrics.isEnabled()) {
+      return invoke(expansion, player, params);
+    }
+
+    final ExpansionMetrics recorder = metrics.of(expansion.getIdentifier());
+    final long start = System.nanoTime();
+    try {
+      final String value = invoke(expansion, player, params);
+      recorder.record(System.nanoTime() - start, value == null);
+      return value;
+    } catch (final RuntimeException | Error ex) {
+      recorder.recordError(System.nanoTime() - start);
+      throw ex;
+    }
+  }
+
+  @Nullable
+  private static String measureRelational(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final Player one, @Nullable final Player two, @NotNull final String params) {
+    final PlaceholderMetrics metrics = PlaceholderMetrics.getInstance();
+    if (!metrics.isEnabled()) {
+      return invokeRelational(expansion, one, two, params);
+    }
+
+    final ExpansionMetrics recorder = metrics.of(expansion.getIdentifier());
+    final long start = System.nanoTime();
+    try {
+      final String value = invokeRelational(expansion, one, two, params);
+      recorder.record(System.nanoTime() - start, value == null);
+      return value;
+    } catch (final RuntimeException | Error ex) {
+      recorder.recordError(System.nanoTime() - start);
+      throw ex;
+    }
+  }
+
+  @NotNull
+  private static Map<String, String> measureBatch(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final List<String> params) {
+    final PlaceholderMetrics metrics = PlaceholderMetrics.getInstance();
+    if (!metrics.isEnabled()) {
+      return invokeBatch(expansion, player, params);
+    }
+
+    final ExpansionMetrics recorder = metrics.of(expansion.getIdentifier());
+    final long start = System.nanoTime();
+    try {
+      final Map<String, String> values = invokeBatch(expansion, player, params);
+
+      // one record per placeholder, sharing the time of the batch, like separate requests would
+      final long share = (System.nanoTime() - start) / params.size();
+      for (final String param : params) {
+        recorder.record(share, values.get(param) == null);
+      }
+
+      return values;
+    } catch (final RuntimeException | Error ex) {
+      recorder.recordError(System.nanoTime() - start);
+      throw ex;
+    }
+  }
+
+  @Nullable
+  private static String invoke(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final String params) {
+    if (!ExpansionRequestEvent.isRecorded()) {
+      return resolve(expansion, player, params, null);
+    }
+
+    final ExpansionRequestEvent recording = new ExpansionRequestEvent();
+    recording.begin();
+
+    final String value = resolve(expansion, player, params, recording);
+
+    recording.complete(expansion.getIdentifier(), params.length(), false);
+    return value;
+  }
+
+  @Nullable
+  private static String invokeRelational(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final Player one, @Nullable final Player two, @NotNull final String params) {
+    if (!ExpansionRequestEvent.isRecorded()) {
+      return ((Relational) expansion).onPlaceholderRequest(one, two, params);
+    }
+
+    final ExpansionRequestEvent recording = new ExpansionRequestEvent();
+    recording.begin();
+
+    final String value = ((Relational) expansion).onPlaceholderRequest(one, two, params);
+
+    recording.complete(expansion.getIdentifier(), params.length(), true);
+    return value;
+  }
+
+  @NotNull
+  private static Map<String, String> invokeBatch(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final List<String> params) {
+    if (!ExpansionRequestEvent.isRecorded()) {
+      return resolveBatch(expansion, player, params, null);
+    }
+
+    final ExpansionRequestEvent recording = new ExpansionRequestEvent();
+    recording.begin();
+
+    final Map<String, String> values = resolveBatch(expansion, player, params, recording);
+
+    int length = 0;
+    for (final String param : params) {
+      length += param.length();
+    }
+
+    recording.complete(expansion.getIdentifier(), length, false);
+    return values;
+  }
+
+  @Nullable
+  private static String resolve(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final String params,
+      @Nullable final ExpansionRequestEvent recording) {
+    if (!(expansion instanceof Memoizable)) {
+      return expansion.onRequest(player, params);
+    }
+
+    final PlaceholderAPIPlugin plugin = PlaceholderAPIPlugin.getInstance();
+    final ValueCache cache = plugin == null ? null
+        : plugin.getLocalExpansionManager().getValueCache(expansion);
+
+    if (cache == null) {
+      return expansion.onRequest(player, params);
+    }
+
+    return cache.request(expansion, player, params, recording);
+  }
+
+  @NotNull
+  private static Map<String, String> resolveBatch(@NotNull final PlaceholderExpansion expansion,
+      @Nullable final OfflinePlayer player, @NotNull final List<String> params,
+      @Nullable final ExpansionRequestEvent recording) {
+    final PlaceholderAPIPlugin plugin = PlaceholderAPIPlugin.getInstance();
+    final ValueCache cache = plugin == null || !(expansion instanceof Memoizable) ? null
+        : plugin.getLocalExpansionManager().getValueCache(expansion);
+
+    if (cache != null) {
+      return cache.requestBatch(expansion, player, params, recording);
+    }
+
+    final Map<String, String> values = ((Batchable) expansion).onRequestBatch(player, params);
+    return values == null ? new HashMap<>() : values;
+  }
+
+  @Nullable
+  private static CircuitBreaker breakerOf(@NotNull final PlaceholderExpansion expansion) {
+    final PlaceholderAPIPlugin plugin = PlaceholderAPIPlugin.getInstance();
+    return plugin == null ? null : plugin.getLocalExpansionManager().getCircuitBreaker(expansion);
+  }
+
+}
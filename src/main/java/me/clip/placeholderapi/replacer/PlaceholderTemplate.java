@@ -0,0 +1,415 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.replacer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import me.clip.placeholderapi.expansion.Batchable;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.profiling.jfr.TextReplacementEvent;
+import me.clip.placeholderapi.replacer.Replacer.Closure;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable, pre-parsed form of a text containing placeholders.
+ *
+ * <p>The text is split once into literal segments and placeholder slots. Rendering the template
+ * for a player only requests the values of the slots and concatenates the result, without
+ * scanning the text again.
+ * <br>The expansions of the slots are bound lazily and rebound whenever the generation reported
+ * by the provided supplier changes, i.e. whenever an expansion is registered or unregistered.
+ * <br>The slots of a {@link Batchable} expansion appearing more than once are requested together
+ * in a single batch.
+ *
+ * <p>The output of {@link #apply(OfflinePlayer)} is identical to the output of
+ * {@link CharsReplacer#apply(String, OfflinePlayer, Function)} for the same text and closure.
+ */
+public final class PlaceholderTemplate {
+
+  @NotNull
+  private final String text;
+  @NotNull
+  private final Closure closure;
+
+  @NotNull
+  private final String[] literals;
+  @NotNull
+  private final Slot[] slots;
+
+  @NotNull
+  private final Function<String, @Nullable PlaceholderExpansion> lookup;
+  @NotNull
+  private final LongSupplier generation;
+
+  @Nullable
+  private volatile Binding binding;
+
+  private PlaceholderTemplate(@NotNull final String text, @NotNull final Closure closure,
+      @NotNull final String[] literals, @NotNull final Slot[] slots,
+      @NotNull final Function<String, @Nullable PlaceholderExpansion> lookup,
+      @NotNull final LongSupplier generation) {
+    this.text = text;
+    this.closure = closure;
+    this.literals = literals;
+    this.slots = slots;
+    this.lookup = lookup;
+    this.generation = generation;
+  }
+
+  /**
+   * Parses the provided text into a template.
+   *
+   * @param text The text to compile
+   * @param closure The closure of the placeholders within the text
+   * @param lookup Function resolving a lowercase identifier into its expansion
+   * @param generation Supplier of the current generation of the lookup. A changed value causes
+   *     the slots to be bound again on the next render
+   * @return The compiled template
+   */
+  @NotNull
+  public static PlaceholderTemplate compile(@NotNull final String text,
+      @NotNull final Closure closure,
+      @NotNull final Function<String, @Nullable PlaceholderExpansion> lookup,
+      @NotNull final LongSupplier generation) {
+    final List<String> literals = new ArrayList<>();
+    final List<Slot> slots = new ArrayList<>();
+
+    final StringBuilder literal = new StringBuilder();
+    final int length = text.length();
+
+    for (int i = 0; i < length; i++) {
+      final char l = text.charAt(i);
+
+      if (l != closure.head || i + 1 >= length) {
+        literal.append(l);
+        continue;
+      }
+
+      final int start = i;
+      final int scanned = CharsReplacer.scan(text, start, closure);
+
+      if (scanned < 0) {
+        // malformed placeholders are kept as they are, including the space which ended them
+        i = ~scanned;
+        literal.append(text, start, Math.min(i + 1, length));
+        continue;
+      }
+
+      i = scanned;
+      final int split = CharsReplacer.split(text, start, i);
+      final String identifier = text.substring(start + 1, split == -1 ? i : split);
+      final String params = split == -1 ? "" : text.substring(split + 1, i);
+
+      literals.add(literal.toString());
+      literal.setLength(0);
+
+      slots.add(new Slot(identifier.toLowerCase(Locale.ROOT), params,
+          text.substring(start, i + 1)));
+    }
+
+    literals.add(literal.toString());
+
+    return new PlaceholderTemplate(text, closure, literals.toArray(new String[0]),
+        slots.toArray(new Slot[0]), lookup, generation);
+  }
+
+  /**
+   * The text this template was compiled from.
+   *
+   * @return The source text
+   */
+  @NotNull
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * The closure used to find the placeholders of this template.
+   *
+   * @return The closure
+   */
+  @NotNull
+  public Closure getClosure() {
+    return closure;
+  }
+
+  /**
+   * Whether the text of this template contains at least one well-formed placeholder.
+   *
+   * @return true if the template has placeholder slots, false if it is plain text
+   */
+  public boolean hasPlaceholders() {
+    return slots.length != 0;
+  }
+
+  /**
+   * Renders this template for the provided player.
+   *
+   * @param player Player to parse the placeholders against
+   * @return The text with all placeholders translated
+   */
+  @NotNull
+  public String apply(@Nullable final OfflinePlayer player) {
+    if (slots.length == 0) {
+      return text;
+    }
+
+    final TextReplacementEvent recording = TextReplacementEvent.isRecorded()
+        ? new TextReplacementEvent() : null;
+    if (recording != null) {
+      recording.begin();
+    }
+
+    final Binding bound = bind();
+    final List<Map<String, String>> batched = requestBatches(bound, player);
+    final StringBuilder builder = new StringBuilder(text.length());
+    int replaced = 0;
+
+    builder.append(literals[0]);
+
+    for (int i = 0; i < slots.length; i++) {
+      final String replacement = valueOf(bound, batched, i, player);
+
+      if (replacement != null) {
+        replaced++;
+      }
+
+      builder.append(replacement == null ? slots[i].raw : replacement).append(literals[i + 1]);
+    }
+
+    if (recording != null) {
+      recording.complete("template", text.length(), slots.length, replaced);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Renders this template for all the provided players at once.
+   * <br>Each slot is resolved for every player before moving on to the next one, the text is
+   * neither scanned nor are the expansions looked up once per player.
+   *
+   * @param players Players to parse the placeholders against
+   * @return The text with all placeholders translated, keyed by the unique id of each player in
+   *     the iteration order of the collection
+   */
+  @NotNull
+  public Map<UUID, String> renderAll(@NotNull final Collection<? extends OfflinePlayer> players) {
+    final Map<UUID, String> rendered = Maps.newLinkedHashMapWithExpectedSize(players.size());
+
+    if (slots.length == 0) {
+      for (final OfflinePlayer player : players) {
+        rendered.put(player.getUniqueId(), text);
+      }
+
+      return rendered;
+    }
+
+    final TextReplacementEvent recording = TextReplacementEvent.isRecorded()
+        ? new TextReplacementEvent() : null;
+    if (recording != null) {
+      recording.begin();
+    }
+
+    final Binding bound = bind();
+    final OfflinePlayer[] targets = players.toArray(new OfflinePlayer[0]);
+    final StringBuilder[] builders = new StringBuilder[targets.length];
+    final List<List<Map<String, String>>> batched = new ArrayList<>(targets.length);
+    int replaced = 0;
+
+    for (int p = 0; p < targets.length; p++) {
+      builders[p] = new StringBuilder(text.length()).append(literals[0]);
+      batched.add(requestBatches(bound, targets[p]));
+    }
+
+    for (int i = 0; i < slots.length; i++) {
+      final Slot slot = slots[i];
+
+      for (int p = 0; p < targets.length; p++) {
+        final String replacement = valueOf(bound, batched.get(p), i, targets[p]);
+
+        if (replacement != null) {
+          replaced++;
+        }
+
+        builders[p].append(replacement == null ? slot.raw : replacement).append(literals[i + 1]);
+      }
+    }
+
+    for (int p = 0; p < targets.length; p++) {
+      rendered.put(targets[p].getUniqueId(), builders[p].toString());
+    }
+
+    if (recording != null) {
+      recording.complete("batch", text.length(), slots.length * targets.length, replaced);
+    }
+    return rendered;
+  }
+
+  @Nullable
+  private static List<Map<String, String>> requestBatches(@NotNull final Binding bound,
+      @Nullable final OfflinePlayer player) {
+    if (bound.batches.length == 0) {
+      return null;
+    }
+
+    final List<Map<String, String>> values = new ArrayList<>(bound.batches.length);
+    for (final Batch batch : bound.batches) {
+      values.add(ExpansionInvoker.requestBatch(batch.expansion, player, batch.params));
+    }
+
+    return values;
+  }
+
+  @Nullable
+  private String valueOf(@NotNull final Binding bound,
+      @Nullable final List<Map<String, String>> batched, final int slot,
+      @Nullable final OfflinePlayer player) {
+    final int batch = bound.batchOf[slot];
+    if (batch != -1 && batched != null) {
+      return batched.get(batch).get(slots[slot].params);
+    }
+
+    final PlaceholderExpansion expansion = bound.expansions[slot];
+    return expansion == null ? null
+        : ExpansionInvoker.request(expansion, player, slots[slot].params);
+  }
+
+  @NotNull
+  private Binding bind() {
+    final long current = generation.getAsLong();
+
+    final Binding bound = binding;
+    if (bound != null && bound.generation == current) {
+      return bound;
+    }
+
+    final PlaceholderExpansion[] expansions = new PlaceholderExpansion[slots.length];
+    for (int i = 0; i < slots.length; i++) {
+      expansions[i] = lookup.apply(slots[i].identifier);
+    }
+
+    final int[] batchOf = new int[slots.length];
+    Arrays.fill(batchOf, -1);
+
+    final List<Batch> batches = new ArrayList<>();
+    for (int i = 0; i < slots.length; i++) {
+      final PlaceholderExpansion expansion = expansions[i];
+      if (!(expansion instanceof Batchable) || batchOf[i] != -1) {
+        continue;
+      }
+
+      final Set<String> params = new LinkedHashSet<>();
+      params.add(slots[i].params);
+
+      boolean repeated = false;
+      for (int j = i + 1; j < slots.length; j++) {
+        if (expansions[j] == expansion) {
+          params.add(slots[j].params);
+          batchOf[j] = batches.size();
+          repeated = true;
+        }
+      }
+
+      // an expansion appearing only once is requested on its own
+      if (!repeated) {
+        continue;
+      }
+
+      batchOf[i] = batches.size();
+      batches.add(new Batch(expansion, ImmutableList.copyOf(params)));
+    }
+
+    final Binding next = new Binding(current, expansions, batchOf, batches.toArray(new Batch[0]));
+    binding = next;
+    return next;
+  }
+
+  private static final class Slot {
+
+    @NotNull
+    private final String identifier;
+    @NotNull
+    private final String params;
+    @NotNull
+    private final String raw;
+
+    private Slot(@NotNull final String identifier, @NotNull final String params,
+        @NotNull final String raw) {
+      this.identifier = identifier;
+      this.params = params;
+      this.raw = raw;
+    }
+
+  }
+
+  private static final class Binding {
+
+    private final long generation;
+    @NotNull
+    private final PlaceholderExpansion[] expansions;
+    /**
+     * Index of the batch of each slot, or -1 for a slot requested on its own.
+     */
+    @NotNull
+    private final int[] batchOf;
+    @NotNull
+    private final Batch[] batches;
+
+    private Binding(final long generation, @NotNull final PlaceholderExpansion[] expansions,
+        @NotNull final int[] batchOf, @NotNull final Batch[] batches) {
+      this.generation = generation;
+      this.expansions = expansions;
+      this.batchOf = batchOf;
+      this.batches = batches;
+    }
+
+  }
+
+  private static final class Batch {
+
+    @NotNull
+    private final PlaceholderExpansion expansion;
+    @NotNull
+    private final List<String> params;
+
+    private Batch(@NotNull final PlaceholderExpansion expansion,
+        @NotNull final List<String> params) {
+      this.expansion = expansion;
+      this.params = params;
+    }
+
+  }
+
+}
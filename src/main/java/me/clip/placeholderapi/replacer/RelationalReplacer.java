@@ -0,0 +1,175 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.replacer;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Function;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.expansion.Relational;
+import me.clip.placeholderapi.profiling.jfr.TextReplacementEvent;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Single-pass replacer for relational placeholders ({@literal %rel_<identifier>_<params>%}).
+ *
+ * <p>Placeholders are matched exactly like {@literal [%](rel_)([^%]+)[%]} would match them, but
+ * the text is scanned only once and each placeholder is resolved in place, instead of rescanning
+ * the whole text for every match.
+ *
+ * <p>Tokens are bounded by {@code CharsReplacer.scan} and split by {@code CharsReplacer.split},
+ * but this is not a {@link Replacer}: relational placeholders are resolved for two players, and
+ * the output has to stay byte for byte the one of the pattern. A token therefore only opens at a
+ * {@literal %rel_}, a {@literal %} closing any other text may still open one, and overlapping
+ * placeholders or values containing a {@literal %} are replaced occurrence by occurrence.
+ */
+public final class RelationalReplacer {
+
+  private static final char CLOSURE = '%';
+  @NotNull
+  private static final String PREFIX = "rel_";
+
+  @NotNull
+  public String apply(@NotNull final String text, @Nullable final Player one,
+      @Nullable final Player two,
+      @NotNull final Function<String, @Nullable PlaceholderExpansion> lookup) {
+    final TextReplacementEvent recording = TextReplacementEvent.isRecorded()
+        ? new TextReplacementEvent() : null;
+    if (recording != null) {
+      recording.begin();
+    }
+
+    final int length = text.length();
+
+    StringBuilder builder = null;
+    int copied = 0;
+    int placeholders = 0;
+
+    // bounds and values of every replaced placeholder, kept for the ambiguous case below
+    int[] bounds = null;
+    String[] values = null;
+    int replaced = 0;
+    boolean ambiguous = false;
+
+    int head = text.indexOf(CLOSURE);
+    while (head != -1) {
+      if (!text.startsWith(PREFIX, head + 1)) {
+        head = text.indexOf(CLOSURE, head + 1);
+        continue;
+      }
+
+      final int start = head + 1 + PREFIX.length();
+      final int tail = CharsReplacer.scan(text, head, Replacer.Closure.PERCENT);
+      if (tail < 0) {
+        break;
+      }
+
+      // "%rel_%" is not a placeholder, but its closing % may open the next one
+      if (tail == start) {
+        head = tail;
+        continue;
+      }
+
+      placeholders++;
+      final String replacement = request(text, start, tail, one, two, lookup);
+      if (replacement != null) {
+        if (builder == null) {
+          builder = new StringBuilder(length + 16);
+          bounds = new int[8];
+          values = new String[4];
+        } else if (replaced == values.length) {
+          bounds = Arrays.copyOf(bounds, replaced * 4);
+          values = Arrays.copyOf(values, replaced * 2);
+        }
+
+        builder.append(text, copied, head).append(replacement);
+        copied = tail + 1;
+
+        bounds[replaced * 2] = head;
+        bounds[replaced * 2 + 1] = tail + 1;
+        values[replaced++] = replacement;
+
+        ambiguous |= replacement.indexOf(CLOSURE) != -1;
+      }
+
+      // a placeholder starting at this closing % is never matched itself, but it is still
+      // replaced if the same placeholder is matched somewhere else
+      ambiguous |= text.startsWith(PREFIX, tail + 1);
+
+      head = tail + 1 < length ? text.indexOf(CLOSURE, tail + 1) : -1;
+    }
+
+    final String result;
+    if (builder == null) {
+      result = text;
+    } else if (ambiguous) {
+      result = replaceOccurrences(text, bounds, values, replaced);
+    } else {
+      result = builder.append(text, copied, length).toString();
+    }
+
+    if (recording != null) {
+      recording.complete("relational", length, placeholders, replaced);
+    }
+    return result;
+  }
+
+  /**
+   * Replaces every occurrence of each resolved placeholder, one placeholder after another. This
+   * is what the pattern based implementation did, and it only differs from replacing the matched
+   * placeholders in place when placeholders overlap or when a value contains a {@literal %}.
+   */
+  @NotNull
+  private static String replaceOccurrences(@NotNull String text, @NotNull final int[] bounds,
+      @NotNull final String[] values, final int replaced) {
+    final String source = text;
+
+    for (int i = 0; i < replaced; i++) {
+      text = text.replace(source.substring(bounds[i * 2], bounds[i * 2 + 1]), values[i]);
+    }
+
+    return text;
+  }
+
+  @Nullable
+  private static String request(@NotNull final String text, final int start, final int tail,
+      @Nullable final Player one, @Nullable final Player two,
+      @NotNull final Function<String, @Nullable PlaceholderExpansion> lookup) {
+    final int split = CharsReplacer.split(text, start - 1, tail);
+    if (split <= start) {
+      return null;
+    }
+
+    final String identifier = text.substring(start, split).toLowerCase(Locale.ROOT);
+    final PlaceholderExpansion expansion = lookup.apply(identifier);
+
+    if (!(expansion instanceof Relational)) {
+      return null;
+    }
+
+    return ExpansionInvoker.requestRelational(expansion, one, two,
+        text.substring(split + 1, tail));
+  }
+
+}
@@ -20,17 +20,21 @@
 
 package me.clip.placeholderapi.scheduler.folia;
 
+import me.clip.placeholderapi.scheduler.scheduling.schedulers.SchedulerStatistics;
+import me.clip.placeholderapi.scheduler.scheduling.schedulers.SchedulerStatistics.Kind;
 import me.clip.placeholderapi.scheduler.scheduling.schedulers.TaskScheduler;
 import me.clip.placeholderapi.scheduler.scheduling.tasks.MyScheduledTask;
 import io.papermc.paper.threadedregions.scheduler.AsyncScheduler;
 import io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler;
 import io.papermc.paper.threadedregions.scheduler.RegionScheduler;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class FoliaScheduler implements TaskScheduler {
 
@@ -43,6 +47,7 @@ public class FoliaScheduler implements TaskScheduler {
     private final RegionScheduler regionScheduler = Bukkit.getServer().getRegionScheduler();
     private final GlobalRegionScheduler globalRegionScheduler = Bukkit.getServer().getGlobalRegionScheduler();
     private final AsyncScheduler asyncScheduler = Bukkit.getServer().getAsyncScheduler();
+    private final SchedulerStatistics statistics = new SchedulerStatistics();
 
     @Override
     public boolean isGlobalThread() {
@@ -67,7 +72,7 @@ public class FoliaScheduler implements TaskScheduler {
 
     @Override
     public MyScheduledTask runTask(Runnable runnable) {
-        return new FoliaScheduledTask(globalRegionScheduler.run(plugin, task -> runnable.run()));
+        return new FoliaScheduledTask(globalRegionScheduler.run(plugin, track(Kind.GLOBAL, runnable, true)));
     }
 
     @Override
@@ -76,7 +81,7 @@ public class FoliaScheduler implements TaskScheduler {
         if (delay <= 0) {
             return runTask(runnable);
         }
-        return new FoliaScheduledTask(globalRegionScheduler.runDelayed(plugin, task -> runnable.run(), delay));
+        return new FoliaScheduledTask(globalRegionScheduler.runDelayed(plugin, track(Kind.GLOBAL, runnable, false), delay));
     }
 
     @Override
@@ -84,12 +89,12 @@ public class FoliaScheduler implements TaskScheduler {
         // Folia exception: Delay ticks may not be <= 0
         delay = getOneIfNotPositive(delay);
         return new FoliaScheduledTask(
-                globalRegionScheduler.runAtFixedRate(plugin, task -> runnable.run(), delay, period));
+                globalRegionScheduler.runAtFixedRate(plugin, track(Kind.GLOBAL, runnable, false), delay, period));
     }
 
     @Override
     public MyScheduledTask runTask(Plugin plugin, Runnable runnable) {
-        return new FoliaScheduledTask(globalRegionScheduler.run(plugin, task -> runnable.run()));
+        return new FoliaScheduledTask(globalRegionScheduler.run(plugin, track(Kind.GLOBAL, runnable, true)));
     }
 
     @Override
@@ -98,7 +103,7 @@ public class FoliaScheduler implements TaskScheduler {
         if (delay <= 0) {
             return runTask(plugin, runnable);
         }
-        return new FoliaScheduledTask(globalRegionScheduler.runDelayed(plugin, task -> runnable.run(), delay));
+        return new FoliaScheduledTask(globalRegionScheduler.runDelayed(plugin, track(Kind.GLOBAL, runnable, false), delay));
     }
 
     @Override
@@ -106,12 +111,12 @@ public class FoliaScheduler implements TaskScheduler {
         // Folia exception: Delay ticks may not be <= 0
         delay = getOneIfNotPositive(delay);
         return new FoliaScheduledTask(
-                globalRegionScheduler.runAtFixedRate(plugin, task -> runnable.run(), delay, period));
+                globalRegionScheduler.runAtFixedRate(plugin, track(Kind.GLOBAL, runnable, false), delay, period));
     }
 
     @Override
     public MyScheduledTask runTask(Location location, Runnable runnable) {
-        return new FoliaScheduledTask(regionScheduler.run(plugin, location, task -> runnable.run()));
+        return new FoliaScheduledTask(regionScheduler.run(plugin, location, track(Kind.REGION, runnable, true)));
     }
 
     @Override
@@ -120,7 +125,7 @@ public class FoliaScheduler implements TaskScheduler {
         if (delay <= 0) {
             return runTask(runnable);
         }
-        return new FoliaScheduledTask(regionScheduler.runDelayed(plugin, location, task -> runnable.run(), delay));
+        return new FoliaScheduledTask(regionScheduler.runDelayed(plugin, location, track(Kind.REGION, runnable, false), delay));
     }
 
     @Override
@@ -128,12 +133,24 @@ public class FoliaScheduler implements TaskScheduler {
         // Folia exception: Delay ticks may not be <= 0
         delay = getOneIfNotPositive(delay);
         return new FoliaScheduledTask(
-                regionScheduler.runAtFixedRate(plugin, location, task -> runnable.run(), delay, period));
+                regionScheduler.runAtFixedRate(plugin, location, track(Kind.REGION, runnable, false), delay, period));
     }
 
     @Override
     public MyScheduledTask runTask(Entity entity, Runnable runnable) {
-        return new FoliaScheduledTask(entity.getScheduler().run(plugin, task -> runnable.run(), null));
+        // not counted as queued, the task never runs if the entity is removed before it starts
+        return new FoliaScheduledTask(entity.getScheduler().run(plugin, track(Kind.ENTITY, runnable, false), null));
+    }
+
+    @Override
+    public MyScheduledTask runTask(Entity entity, Runnable runnable, Runnable retired) {
+        final ScheduledTask task = entity.getScheduler().run(plugin, track(Kind.ENTITY, runnable, false), retired);
+        if (task == null) {
+            // the entity was already removed, its scheduler does not call the retired callback then
+            retired.run();
+            return null;
+        }
+        return new FoliaScheduledTask(task);
     }
 
     @Override
@@ -142,7 +159,7 @@ public class FoliaScheduler implements TaskScheduler {
         if (delay <= 0) {
             return runTask(entity, runnable);
         }
-        return new FoliaScheduledTask(entity.getScheduler().runDelayed(plugin, task -> runnable.run(), null, delay));
+        return new FoliaScheduledTask(entity.getScheduler().runDelayed(plugin, track(Kind.ENTITY, runnable, false), null, delay));
     }
 
     @Override
@@ -150,12 +167,12 @@ public class FoliaScheduler implements TaskScheduler {
         // Folia exception: Delay ticks may not be <= 0
         delay = getOneIfNotPositive(delay);
         return new FoliaScheduledTask(
-                entity.getScheduler().runAtFixedRate(plugin, task -> runnable.run(), null, delay, period));
+                entity.getScheduler().runAtFixedRate(plugin, track(Kind.ENTITY, runnable, false), null, delay, period));
     }
 
     @Override
     public MyScheduledTask runTaskAsynchronously(Runnable runnable) {
-        return new FoliaScheduledTask(asyncScheduler.runNow(plugin, task -> runnable.run()));
+        return new FoliaScheduledTask(asyncScheduler.runNow(plugin, track(Kind.ASYNC, runnable, true)));
     }
 
     @Override
@@ -163,18 +180,18 @@ public class FoliaScheduler implements TaskScheduler {
         // Folia exception: Delay ticks may not be <= 0
         delay = getOneIfNotPositive(delay);
         return new FoliaScheduledTask(
-                asyncScheduler.runDelayed(plugin, task -> runnable.run(), delay * 50L, TimeUnit.MILLISECONDS));
+                asyncScheduler.runDelayed(plugin, track(Kind.ASYNC, runnable, false), delay * 50L, TimeUnit.MILLISECONDS));
     }
 
     @Override
     public MyScheduledTask runTaskTimerAsynchronously(Runnable runnable, long delay, long period) {
-        return new FoliaScheduledTask(asyncScheduler.runAtFixedRate(plugin, task -> runnable.run(), delay * 50,
+        return new FoliaScheduledTask(asyncScheduler.runAtFixedRate(plugin, track(Kind.ASYNC, runnable, false), delay * 50,
                 period * 50, TimeUnit.MILLISECONDS));
     }
 
     @Override
     public MyScheduledTask runTaskAsynchronously(Plugin plugin, Runnable runnable) {
-        return new FoliaScheduledTask(asyncScheduler.runNow(plugin, task -> runnable.run()));
+        return new FoliaScheduledTask(asyncScheduler.runNow(plugin, track(Kind.ASYNC, runnable, true)));
     }
 
     @Override
@@ -182,30 +199,30 @@ public class FoliaScheduler implements TaskScheduler {
         // Folia exception: Delay ticks may not be <= 0
         delay = getOneIfNotPositive(delay);
         return new FoliaScheduledTask(
-                asyncScheduler.runDelayed(plugin, task -> runnable.run(), delay * 50L, TimeUnit.MILLISECONDS));
+                asyncScheduler.runDelayed(plugin, track(Kind.ASYNC, runnable, false), delay * 50L, TimeUnit.MILLISECONDS));
     }
 
     @Override
     public MyScheduledTask runTaskTimerAsynchronously(Plugin plugin, Runnable runnable, long delay, long period) {
         // Folia exception: Delay ticks may not be <= 0
         delay = getOneIfNotPositive(delay);
-        return new FoliaScheduledTask(asyncScheduler.runAtFixedRate(plugin, task -> runnable.run(), delay * 50,
+        return new FoliaScheduledTask(asyncScheduler.runAtFixedRate(plugin, track(Kind.ASYNC, runnable, false), delay * 50,
                 period * 50, TimeUnit.MILLISECONDS));
     }
 
     @Override
     public void execute(Runnable runnable) {
-        globalRegionScheduler.execute(plugin, runnable);
+        globalRegionScheduler.execute(plugin, statistics.wrap(Kind.GLOBAL, runnable, true));
     }
 
     @Override
     public void execute(Location location, Runnable runnable) {
-        regionScheduler.execute(plugin, location, runnable);
+        regionScheduler.execute(plugin, location, statistics.wrap(Kind.REGION, runnable, true));
     }
 
     @Override
     public void execute(Entity entity, Runnable runnable) {
-        entity.getScheduler().execute(plugin, runnable, null, 1L);
+        entity.getScheduler().execute(plugin, statistics.wrap(Kind.ENTITY, runnable, false), null, 1L);
     }
 
     @Override
@@ -220,6 +237,16 @@ public class FoliaScheduler implements TaskScheduler {
         asyncScheduler.cancelTasks(plugin);
     }
 
+    @Override
+    public SchedulerStatistics getStatistics() {
+        return statistics;
+    }
+
+    private Consumer<ScheduledTask> track(Kind kind, Runnable runnable, boolean immediate) {
+        final Runnable tracked = statistics.wrap(kind, runnable, immediate);
+        return task -> tracked.run();
+    }
+
     private long getOneIfNotPositive(long x) {
         return x <= 0 ? 1L : x;
     }
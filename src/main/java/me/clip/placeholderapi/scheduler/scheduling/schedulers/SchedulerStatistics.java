@@ -0,0 +1,140 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.clip.placeholderapi.scheduler.scheduling.schedulers;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the tasks going through a {@link TaskScheduler}, per kind of scheduler.
+ * <p>
+ * Counters are only ever added to by the threads scheduling and running the tasks, and can be
+ * read from any thread at any time.
+ */
+public final class SchedulerStatistics {
+
+    public enum Kind {
+        GLOBAL,
+        REGION,
+        ENTITY,
+        ASYNC
+    }
+
+    private final Counters[] counters = new Counters[Kind.values().length];
+
+    public SchedulerStatistics() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new Counters();
+        }
+    }
+
+    /**
+     * Wraps a task so that its executions are counted.
+     *
+     * @param kind      The scheduler the task is submitted to
+     * @param task      The task
+     * @param immediate Whether the task runs once without delay, such tasks are counted as
+     *                  queued until they start
+     * @return The task to submit instead
+     */
+    public Runnable wrap(Kind kind, Runnable task, boolean immediate) {
+        final Counters counter = counters[kind.ordinal()];
+        counter.scheduled.increment();
+
+        if (!immediate) {
+            return () -> run(counter, task);
+        }
+
+        counter.queued.incrementAndGet();
+        final long submitted = System.nanoTime();
+
+        return () -> {
+            counter.queued.decrementAndGet();
+            counter.queueWait.add(System.nanoTime() - submitted);
+            run(counter, task);
+        };
+    }
+
+    /**
+     * @return The amount of tasks submitted
+     */
+    public long getScheduled(Kind kind) {
+        return counters[kind.ordinal()].scheduled.sum();
+    }
+
+    /**
+     * @return The amount of times a task ran, repeating tasks are counted on every run
+     */
+    public long getExecutions(Kind kind) {
+        return counters[kind.ordinal()].executions.sum();
+    }
+
+    /**
+     * @return The amount of times a task threw
+     */
+    public long getFailures(Kind kind) {
+        return counters[kind.ordinal()].failures.sum();
+    }
+
+    /**
+     * @return The time spent running tasks, in nanoseconds
+     */
+    public long getExecutionNanos(Kind kind) {
+        return counters[kind.ordinal()].execution.sum();
+    }
+
+    /**
+     * @return The amount of tasks without delay which did not start yet
+     */
+    public long getQueued(Kind kind) {
+        return Math.max(0, counters[kind.ordinal()].queued.get());
+    }
+
+    /**
+     * @return The time tasks without delay waited before starting, in nanoseconds
+     */
+    public long getQueueWaitNanos(Kind kind) {
+        return counters[kind.ordinal()].queueWait.sum();
+    }
+
+    private static void run(Counters counter, Runnable task) {
+        final long start = System.nanoTime();
+        try {
+            task.run();
+        } catch (RuntimeException | Error ex) {
+            counter.failures.increment();
+            throw ex;
+        } finally {
+            counter.executions.increment();
+            counter.execution.add(System.nanoTime() - start);
+        }
+    }
+
+
+    private static final class Counters {
+        private final LongAdder scheduled = new LongAdder();
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder execution = new LongAdder();
+        private final AtomicLong queued = new AtomicLong();
+        private final LongAdder queueWait = new LongAdder();
+    }
+}
@@ -210,6 +210,24 @@ public interface TaskScheduler {
         return runTask(runnable);
     }
 
+    /**
+     * <b>Folia and Paper</b>: Schedules a task to be executed on the region which
+     * owns the location
+     * of given entity, or executes the retired callback instead if the entity is removed
+     * before the task could run
+     * <p>
+     * <b>Bukkit</b>: same as {@link #runTask(Entity, Runnable)}, the retired callback is never executed
+     *
+     * @param entity   The entity whose location the region executing should own
+     * @param runnable The task to execute
+     * @param retired  The callback to execute if the entity is removed
+     * @return The scheduled task, or null if the entity was already removed and the retired
+     * callback has been executed
+     */
+    default MyScheduledTask runTask(Entity entity, Runnable runnable, Runnable retired) {
+        return runTask(entity, runnable);
+    }
+
     /**
      * <b>Folia and Paper</b>: Schedules a task to be executed on the region which
      * owns the location
@@ -349,6 +367,15 @@ public interface TaskScheduler {
         execute(runnable);
     }
 
+    /**
+     * Returns the statistics of the tasks scheduled through this scheduler
+     *
+     * @return the statistics, or null if this scheduler does not count its tasks
+     */
+    default SchedulerStatistics getStatistics() {
+        return null;
+    }
+
     /**
      * Attempts to cancel all tasks scheduled by this plugin
      */
@@ -0,0 +1,185 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The names found in the header of a class file: the class itself, its superclass and its
+ * interfaces. Reading them only requires walking the constant pool, the class is never defined.
+ */
+final class ClassHeader {
+
+  private static final int MAGIC = 0xCAFEBABE;
+
+  private static final int ACC_INTERFACE = 0x0200;
+  private static final int ACC_ABSTRACT = 0x0400;
+
+  private final int access;
+  @NotNull
+  private final String name;
+  @Nullable
+  private final String superName;
+  @NotNull
+  private final String[] interfaces;
+
+  private ClassHeader(final int access, @NotNull final String name,
+      @Nullable final String superName, @NotNull final String[] interfaces) {
+    this.access = access;
+    this.name = name;
+    this.superName = superName;
+    this.interfaces = interfaces;
+  }
+
+  /**
+   * Reads the header of a class file. The stream is read to its end, but only the constant pool
+   * entries naming classes are decoded.
+   *
+   * @param stream the class file
+   * @return the header
+   * @throws IOException if the stream is not a valid class file
+   */
+  @NotNull
+  static ClassHeader read(@NotNull final InputStream stream) throws IOException {
+    return read(stream.readAllBytes());
+  }
+
+  @NotNull
+  static ClassHeader read(@NotNull final byte[] bytes) throws IOException {
+    try {
+      if (readInt(bytes, 0) != MAGIC) {
+        throw new IOException("Not a class file");
+      }
+
+      // skips the minor and major versions
+      final int count = readUnsignedShort(bytes, 8);
+      final int[] offsets = new int[count];
+      int offset = 10;
+
+      for (int i = 1; i < count; i++) {
+        final int tag = bytes[offset] & 0xFF;
+        offsets[i] = offset;
+        switch (tag) {
+          case 1: // Utf8
+            offset += 3 + readUnsignedShort(bytes, offset + 1);
+            break;
+          case 7: // Class
+          case 8: // String
+          case 16: // MethodType
+          case 19: // Module
+          case 20: // Package
+            offset += 3;
+            break;
+          case 15: // MethodHandle
+            offset += 4;
+            break;
+          case 3: // Integer
+          case 4: // Float
+          case 9: // Fieldref
+          case 10: // Methodref
+          case 11: // InterfaceMethodref
+          case 12: // NameAndType
+          case 17: // Dynamic
+          case 18: // InvokeDynamic
+            offset += 5;
+            break;
+          case 5: // Long
+          case 6: // Double
+            offset += 9;
+            i++; // takes two entries
+            break;
+          default:
+            throw new IOException("Unknown constant pool tag " + tag);
+        }
+      }
+
+      final int access = readUnsignedShort(bytes, offset);
+      final String name = className(bytes, offsets, readUnsignedShort(bytes, offset + 2));
+      final int superClass = readUnsignedShort(bytes, offset + 4);
+
+      final String[] interfaces = new String[readUnsignedShort(bytes, offset + 6)];
+      for (int i = 0; i < interfaces.length; i++) {
+        interfaces[i] = className(bytes, offsets, readUnsignedShort(bytes, offset + 8 + i * 2));
+      }
+
+      return new ClassHeader(access, name,
+          superClass == 0 ? null : className(bytes, offsets, superClass), interfaces);
+    } catch (final ArrayIndexOutOfBoundsException ex) {
+      throw new IOException("Truncated class file", ex);
+    }
+  }
+
+  @NotNull
+  private static String className(@NotNull final byte[] bytes, @NotNull final int[] offsets,
+      final int index) throws IOException {
+    if (index <= 0 || index >= offsets.length || bytes[offsets[index]] != 7) {
+      throw new IOException("Invalid class reference " + index);
+    }
+
+    final int utf8 = readUnsignedShort(bytes, offsets[index] + 1);
+    if (utf8 <= 0 || utf8 >= offsets.length || bytes[offsets[utf8]] != 1) {
+      throw new IOException("Invalid class name reference " + utf8);
+    }
+
+    final int start = offsets[utf8];
+    final int length = readUnsignedShort(bytes, start + 1);
+    return new DataInputStream(new ByteArrayInputStream(bytes, start + 1, length + 2)).readUTF();
+  }
+
+  private static int readUnsignedShort(@NotNull final byte[] bytes, final int offset) {
+    return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+  }
+
+  private static int readInt(@NotNull final byte[] bytes, final int offset) {
+    return (readUnsignedShort(bytes, offset) << 16) | readUnsignedShort(bytes, offset + 2);
+  }
+
+  boolean isAbstract() {
+    return (access & (ACC_ABSTRACT | ACC_INTERFACE)) != 0;
+  }
+
+  /**
+   * The internal name of the class, e.g. {@code com/example/MyExpansion}.
+   *
+   * @return the name of the class
+   */
+  @NotNull
+  String getName() {
+    return name;
+  }
+
+  @Nullable
+  String getSuperName() {
+    return superName;
+  }
+
+  @NotNull
+  String[] getInterfaces() {
+    return interfaces;
+  }
+
+}
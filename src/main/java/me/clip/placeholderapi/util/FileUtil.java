@@ -25,15 +25,33 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
+import java.util.jar.JarFile;
 
 public class FileUtil {
 
+  /**
+   * Finds the class of a jar which extends or implements the provided class.
+   *
+   * <p>The hierarchy of the classes is resolved from the headers of their class files, only the
+   * matching class is loaded. Concrete classes are preferred over abstract ones, otherwise the
+   * first match in the order of the jar is returned.
+   * <br>The class loader of the jar is closed if nothing matched, otherwise it stays open for the
+   * returned class to be able to load the rest of the jar.
+   *
+   * @param file the jar to search
+   * @param clazz the class to find a subclass of
+   * @return the matching class, or null if the jar has none
+   */
   @Nullable
   public static <T> Class<? extends T> findClass(@NotNull final File file,
       @NotNull final Class<T> clazz) throws IOException, ClassNotFoundException {
@@ -41,37 +59,156 @@ public class FileUtil {
       return null;
     }
 
-    final URL jar = file.toURI().toURL();
-    final URLClassLoader loader = new URLClassLoader(new URL[]{jar}, clazz.getClassLoader());
-    final List<String> matches = new ArrayList<>();
-    final List<Class<? extends T>> classes = new ArrayList<>();
+    final Map<String, ClassHeader> headers = new LinkedHashMap<>();
 
-    try (final JarInputStream stream = new JarInputStream(jar.openStream())) {
-      JarEntry entry;
-      while ((entry = stream.getNextJarEntry()) != null) {
+    // the central directory of the jar is read once, entries are then accessed directly
+    try (final JarFile jar = new JarFile(file, false)) {
+      final Enumeration<JarEntry> entries = jar.entries();
+      while (entries.hasMoreElements()) {
+        final JarEntry entry = entries.nextElement();
         final String name = entry.getName();
-        if (name.isEmpty() || !name.endsWith(".class")) {
+        if (!name.endsWith(".class") || name.startsWith("META-INF/")
+            || name.endsWith("module-info.class")) {
           continue;
         }
 
-        matches.add(name.substring(0, name.lastIndexOf('.')).replace('/', '.'));
+        try (final InputStream stream = jar.getInputStream(entry)) {
+          final ClassHeader header = ClassHeader.read(stream);
+          headers.putIfAbsent(header.getName(), header);
+        } catch (final IOException ignored) {
+          // not a readable class file, it could not have been loaded either
+        }
       }
+    }
 
-      for (final String match : matches) {
-        try {
-          final Class<?> loaded = loader.loadClass(match);
-          if (clazz.isAssignableFrom(loaded)) {
-            classes.add(loaded.asSubclass(clazz));
-          }
-        } catch (final NoClassDefFoundError ignored) {
+    final Hierarchy hierarchy = new Hierarchy(headers, clazz);
+    final List<String> matches = new ArrayList<>();
+    final List<String> abstractMatches = new ArrayList<>();
+
+    for (final ClassHeader header : headers.values()) {
+      if (hierarchy.isAssignable(header.getName())) {
+        (header.isAbstract() ? abstractMatches : matches).add(header.getName());
+      }
+    }
+
+    matches.addAll(abstractMatches);
+
+    if (matches.isEmpty()) {
+      return null;
+    }
+
+    final URLClassLoader loader = new URLClassLoader(new URL[]{file.toURI().toURL()},
+        clazz.getClassLoader());
+
+    for (final String match : matches) {
+      try {
+        final Class<?> loaded = loader.loadClass(match.replace('/', '.'));
+        if (clazz.isAssignableFrom(loaded)) {
+          return loaded.asSubclass(clazz);
         }
+      } catch (final NoClassDefFoundError ignored) {
       }
     }
-    if (classes.isEmpty()) {
-        loader.close();
-        return null;
+
+    loader.close();
+    return null;
+  }
+
+  /**
+   * Loads a class of a jar whose name is already known, e.g. from a previous
+   * {@link #findClass(File, Class)}, without searching the jar.
+   *
+   * @param file the jar to load the class from
+   * @param name the binary name of the class
+   * @param clazz the class it must extend or implement
+   * @return the class, or null if it does not extend or implement the provided class
+   */
+  @Nullable
+  public static <T> Class<? extends T> loadClass(@NotNull final File file,
+      @NotNull final String name, @NotNull final Class<T> clazz)
+      throws IOException, ClassNotFoundException {
+    final URLClassLoader loader = new URLClassLoader(new URL[]{file.toURI().toURL()},
+        clazz.getClassLoader());
+
+    try {
+      final Class<?> loaded = loader.loadClass(name);
+      if (clazz.isAssignableFrom(loaded)) {
+        return loaded.asSubclass(clazz);
+      }
+    } catch (final ClassNotFoundException | LinkageError ex) {
+      loader.close();
+      throw ex;
     }
-    return classes.get(0);
+
+    loader.close();
+    return null;
+  }
+
+
+  /**
+   * Resolves whether the classes of a jar are assignable to a class, from their headers. Classes
+   * outside of the jar are looked up without being initialized, through the loader of the target
+   * class, which is the parent of the loader the jar would be loaded with.
+   */
+  private static final class Hierarchy {
+
+    @NotNull
+    private final Map<String, ClassHeader> headers;
+    @NotNull
+    private final Class<?> target;
+    @NotNull
+    private final String targetName;
+    @NotNull
+    private final Map<String, Boolean> resolved = new HashMap<>();
+
+    private Hierarchy(@NotNull final Map<String, ClassHeader> headers,
+        @NotNull final Class<?> target) {
+      this.headers = headers;
+      this.target = target;
+      this.targetName = target.getName().replace('.', '/');
+    }
+
+    private boolean isAssignable(@Nullable final String name) {
+      if (name == null || name.equals("java/lang/Object")) {
+        return false;
+      }
+      if (name.equals(targetName)) {
+        return true;
+      }
+
+      final Boolean known = resolved.get(name);
+      if (known != null) {
+        return known;
+      }
+
+      // guards against cyclic hierarchies of malformed jars
+      resolved.put(name, false);
+
+      final boolean assignable;
+      final ClassHeader header = headers.get(name);
+      if (header == null) {
+        assignable = isExternalAssignable(name);
+      } else {
+        boolean any = isAssignable(header.getSuperName());
+        for (int i = 0; !any && i < header.getInterfaces().length; i++) {
+          any = isAssignable(header.getInterfaces()[i]);
+        }
+        assignable = any;
+      }
+
+      resolved.put(name, assignable);
+      return assignable;
+    }
+
+    private boolean isExternalAssignable(@NotNull final String name) {
+      try {
+        return target.isAssignableFrom(
+            Class.forName(name.replace('/', '.'), false, target.getClassLoader()));
+      } catch (final ClassNotFoundException | LinkageError ex) {
+        return false;
+      }
+    }
+
   }
 
 }
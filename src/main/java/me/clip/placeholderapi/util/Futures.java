@@ -56,6 +56,11 @@ public final class Futures {
     return Collectors.collectingAndThen(Collectors.toList(), Futures::of);
   }
 
+  @NotNull
+  public static <T> Collector<CompletableFuture<T>, ?, CompletableFuture<List<T>>> joining() {
+    return Collectors.collectingAndThen(Collectors.toList(), Futures::joined);
+  }
+
 
   @NotNull
   public static <T> CompletableFuture<List<T>> of(
@@ -70,6 +75,16 @@ public final class Futures {
         .thenApplyAsync($ -> awaitCompletion(futures));
   }
 
+  /**
+   * Collects the results on the thread completing the last future, without an async hop.
+   */
+  @NotNull
+  public static <T> CompletableFuture<List<T>> joined(
+      @NotNull final Collection<CompletableFuture<T>> futures) {
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+        .thenApply($ -> awaitCompletion(futures));
+  }
+
   @NotNull
   private static <T> List<T> awaitCompletion(
       @NotNull final Collection<CompletableFuture<T>> futures) {
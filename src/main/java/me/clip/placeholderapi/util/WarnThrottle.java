@@ -0,0 +1,175 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Deduplicates warnings which are likely to be repeated many times per second, such as the ones
+ * caused by a malformed placeholder on a scoreboard.
+ *
+ * <p>The first occurrence of a warning opens a suppression window for its (source, key) pair,
+ * further occurrences within the window are only counted. Once a window elapsed, the amount of
+ * suppressed occurrences is reported. Messages are only built for occurrences which are logged,
+ * and are written to the sink from a dedicated thread so callers never wait on the logger.
+ */
+public final class WarnThrottle implements AutoCloseable {
+
+  @NotNull
+  private final Consumer<String> sink;
+  private final long window;
+
+  @NotNull
+  private final Map<String, Window> windows = new ConcurrentHashMap<>();
+  @NotNull
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("placeholderapi-warnings").setDaemon(true).build());
+
+  public WarnThrottle(@NotNull final Consumer<String> sink, final long window,
+      @NotNull final TimeUnit unit) {
+    this.sink = sink;
+    this.window = unit.toNanos(window);
+
+    executor.scheduleWithFixedDelay(this::flush, window, window, unit);
+  }
+
+  /**
+   * Logs the provided warning, unless the same warning was already logged within the current
+   * suppression window.
+   *
+   * @param source The source of the warning, such as the identifier of an expansion
+   * @param key The key identifying the warning within its source, such as the placeholder
+   * @param message Supplier of the message, only called if the warning is logged
+   */
+  public void warn(@NotNull final String source, @NotNull final String key,
+      @NotNull final Supplier<String> message) {
+    final String id = source + ':' + key;
+    final long now = System.nanoTime();
+
+    Window opened = null;
+    Window current;
+
+    // retried when another thread opened or flushed the window of this warning concurrently
+    do {
+      current = windows.get(id);
+      if (current != null && now - current.openedAt < window) {
+        current.suppressed.increment();
+        return;
+      }
+
+      if (opened == null) {
+        opened = new Window(now, message.get());
+      }
+    } while (current == null ? windows.putIfAbsent(id, opened) != null
+        : !windows.replace(id, current, opened));
+
+    if (current != null) {
+      report(current);
+    }
+
+    log(opened.message);
+  }
+
+  /**
+   * Reports the suppressed occurrences of the elapsed windows and forgets about them.
+   */
+  public void flush() {
+    final long now = System.nanoTime();
+
+    final Iterator<Window> iterator = windows.values().iterator();
+    while (iterator.hasNext()) {
+      final Window current = iterator.next();
+      if (now - current.openedAt < window) {
+        continue;
+      }
+
+      iterator.remove();
+      report(current);
+    }
+  }
+
+  /**
+   * Reports every suppressed occurrence and stops the logging thread, waiting for the pending
+   * messages to be written.
+   */
+  @Override
+  public void close() {
+    for (final Window current : windows.values()) {
+      report(current);
+    }
+    windows.clear();
+
+    executor.shutdown();
+
+    try {
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void report(@NotNull final Window elapsed) {
+    final long suppressed = elapsed.suppressed.sumThenReset();
+    if (suppressed == 0) {
+      return;
+    }
+
+    log(String.format("%s (repeated %d more times in %ds)", elapsed.message, suppressed,
+        TimeUnit.NANOSECONDS.toSeconds(window)));
+  }
+
+  private void log(@NotNull final String message) {
+    try {
+      executor.execute(() -> sink.accept(message));
+    } catch (final RejectedExecutionException ex) {
+      // closed, write it from the calling thread rather than losing it
+      sink.accept(message);
+    }
+  }
+
+
+  private static final class Window {
+
+    private final long openedAt;
+    @NotNull
+    private final String message;
+    private final LongAdder suppressed = new LongAdder();
+
+    private Window(final long openedAt, @NotNull final String message) {
+      this.openedAt = openedAt;
+      this.message = message;
+    }
+
+  }
+
+}
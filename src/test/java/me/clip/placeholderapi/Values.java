@@ -21,24 +21,35 @@
 package me.clip.placeholderapi;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import me.clip.placeholderapi.expansion.Batchable;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.expansion.Relational;
 import me.clip.placeholderapi.replacer.CharsReplacer;
+import me.clip.placeholderapi.replacer.RelationalReplacer;
 import me.clip.placeholderapi.replacer.Replacer;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public interface Values {
 
   String SMALL_TEXT = "My name is %player_name%";
+  String PLAIN_TEXT = "My name is not a placeholder, and neither is my location";
   String LARGE_TEXT = "My name is %player_name% and my location is (%player_x%, %player_y%, %player_z%), this placeholder is invalid %server_name%";
 
   ImmutableMap<String, PlaceholderExpansion> PLACEHOLDERS = ImmutableMap.<String, PlaceholderExpansion>builder()
       .put("player", new MockPlayerPlaceholderExpansion())
+      .put("relation", new MockRelationalPlaceholderExpansion())
       .build();
 
 
   Replacer CHARS_REPLACER = new CharsReplacer(Replacer.Closure.PERCENT);
+  RelationalReplacer RELATIONAL_REPLACER = new RelationalReplacer();
 
 
   final class MockPlayerPlaceholderExpansion extends PlaceholderExpansion {
@@ -90,4 +101,92 @@ public interface Values {
 
   }
 
+  final class MockRelationalPlaceholderExpansion extends PlaceholderExpansion implements
+      Relational {
+
+    public static final String RELATION_STATUS = "friend";
+    public static final String RELATION_COLOR = "&a";
+
+
+    @NotNull
+    @Override
+    public String getIdentifier() {
+      return "relation";
+    }
+
+    @NotNull
+    @Override
+    public String getAuthor() {
+      return "Sxtanna";
+    }
+
+    @NotNull
+    @Override
+    public String getVersion() {
+      return "1.0";
+    }
+
+    @Override
+    public String onPlaceholderRequest(final Player one, final Player two,
+        final String identifier) {
+      switch (identifier) {
+        case "status":
+          return RELATION_STATUS;
+        case "color":
+          return RELATION_COLOR;
+      }
+
+      return null;
+    }
+
+  }
+
+  final class MockBatchPlaceholderExpansion extends PlaceholderExpansion implements Batchable {
+
+    public final List<List<String>> batches = new ArrayList<>();
+    public int requests;
+
+
+    @NotNull
+    @Override
+    public String getIdentifier() {
+      return "batch";
+    }
+
+    @NotNull
+    @Override
+    public String getAuthor() {
+      return "PlaceholderAPI";
+    }
+
+    @NotNull
+    @Override
+    public String getVersion() {
+      return "1.0";
+    }
+
+    @Override
+    public String onRequest(@Nullable final OfflinePlayer player, @NotNull final String params) {
+      requests++;
+      return params.equals("missing") ? null : params.toUpperCase();
+    }
+
+    @NotNull
+    @Override
+    public Map<String, String> onRequestBatch(@Nullable final OfflinePlayer player,
+        @NotNull final List<String> params) {
+      batches.add(params);
+
+      final Map<String, String> values = new HashMap<>();
+      for (final String param : params) {
+        if (!param.equals("missing")) {
+          values.put(param, param.toUpperCase());
+        }
+      }
+
+      return values;
+    }
+
+  }
+
 }
@@ -0,0 +1,98 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bukkit.configuration.ConfigurationSection;
+import org.junit.jupiter.api.Test;
+
+public final class ExpansionConfigUnitTester {
+
+  @Test
+  void testValuesAreConvertedLikeConfigurationSections() {
+    final Map<String, Object> values = new HashMap<>();
+    values.put("Decimals", 5);
+    values.put("Rounding", "half-even");
+    values.put("Debug", "on");
+    values.put("time.days", 'd');
+    values.put("time.condensed", true);
+    values.put("ratio", 0.5);
+    values.put("list", Arrays.asList("a", 1, true, null, new Object()));
+
+    final ExpansionConfig config = ExpansionConfig.of(values);
+
+    assertEquals(5, config.getInt("Decimals", 3));
+    assertEquals(5L, config.getLong("Decimals", 3));
+    assertEquals(0, config.getInt("ratio", 0));
+    assertEquals(3, config.getInt("Rounding", 3));
+    assertEquals("half-even", config.getString("Rounding", "half-up"));
+    assertEquals("d", config.getString("time.days", "days"));
+    assertEquals("5", config.getString("Decimals", null));
+    assertTrue(config.getBoolean("time.condensed", false));
+    assertFalse(config.getBoolean("Debug", false));
+    assertEquals(0.5, config.getDouble("ratio", 1));
+    assertEquals(Arrays.asList("a", "1", "true"), config.getStringList("list"));
+    assertTrue(config.contains("time.days"));
+  }
+
+  @Test
+  void testMissingValuesFallBackToTheirDefault() {
+    final ExpansionConfig config = ExpansionConfig.of(new HashMap<>());
+
+    assertSame(ExpansionConfig.EMPTY, config);
+    assertSame(ExpansionConfig.EMPTY, ExpansionConfig.of((ConfigurationSection) null));
+    assertEquals(3, config.getInt("Decimals", 3));
+    assertEquals("half-up", config.getString("Rounding", "half-up"));
+    assertEquals("fallback", config.get("Debug", "fallback"));
+    assertTrue(config.getStringList("list").isEmpty());
+    assertFalse(config.contains("Decimals"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testSnapshotIsNotAffectedByLaterChanges() {
+    final List<Object> list = new ArrayList<>(Arrays.asList("a", "b"));
+    final Map<String, Object> values = new HashMap<>();
+    values.put("list", list);
+    values.put("Decimals", 5);
+
+    final ExpansionConfig config = ExpansionConfig.of(values);
+    list.add("c");
+    values.put("Decimals", 2);
+
+    assertEquals(Arrays.asList("a", "b"), config.getStringList("list"));
+    assertEquals(5, config.getInt("Decimals", 3));
+    assertThrows(UnsupportedOperationException.class,
+        () -> ((List<Object>) config.get("list", null)).add("d"));
+  }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.internal.formatter;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Locale;
+import me.clip.placeholderapi.expansion.internal.formatter.utils.NumberFormats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class FormatBenchmarks {
+
+  private static final String PATTERN = "#,###,###.##";
+  private static final BigDecimal NUMBER = new BigDecimal("1234567.891");
+
+  private final NumberFormats formats = new NumberFormats();
+
+  @Benchmark
+  @SuppressWarnings("deprecation")
+  public String measureUncachedFormat() {
+    final DecimalFormat format = (DecimalFormat) NumberFormat
+        .getNumberInstance(new Locale("en", "US"));
+    format.applyPattern(PATTERN);
+
+    return format.format(NUMBER);
+  }
+
+  @Benchmark
+  public String measureCachedFormat() {
+    return formats.get("en-US", PATTERN).format(NUMBER);
+  }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.internal.formatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import me.clip.placeholderapi.expansion.internal.formatter.utils.NumberFormats;
+import org.junit.jupiter.api.Test;
+
+public final class NumberFormatsUnitTester {
+
+  private static final BigDecimal NUMBER = new BigDecimal("1234567.891");
+
+  @Test
+  void testFormatsAreReusedPerLocaleAndPattern() {
+    final NumberFormats formats = new NumberFormats();
+
+    assertSame(formats.get("en-US", "#,###.##"), formats.get("en-US", "#,###.##"));
+    assertNotSame(formats.get("en-US", "#,###.##"), formats.get("de-DE", "#,###.##"));
+    assertNotSame(formats.get("en-US", "#,###.##"), formats.get("en-US", "#.##"));
+  }
+
+  @Test
+  void testFormatsUseTheirLocaleAndPattern() {
+    final NumberFormats formats = new NumberFormats();
+
+    assertEquals("1,234,567.89", formats.get("en-US", "#,###,###.##").format(NUMBER));
+    assertEquals("1.234.567,89", formats.get("de-DE", "#,###,###.##").format(NUMBER));
+    assertEquals("1234567.9", formats.get("en", "#.#").format(NUMBER));
+  }
+
+  @Test
+  void testLocalesAreParsed() {
+    final NumberFormats formats = new NumberFormats();
+
+    assertEquals(Locale.US, formats.getLocale("en-US"));
+    assertEquals(Locale.GERMAN, formats.getLocale("de"));
+    assertEquals(Locale.GERMAN, formats.getLocale("de-"));
+    assertEquals(Locale.US, formats.getLocale("-"));
+  }
+
+  @Test
+  void testInvalidateDropsFormats() {
+    final NumberFormats formats = new NumberFormats();
+    final Object format = formats.get("en-US", "#,###.##");
+
+    formats.invalidate();
+
+    assertNotSame(format, formats.get("en-US", "#,###.##"));
+  }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+
+public final class CircuitBreakerUnitTester {
+
+  private static final UUID PLAYER = UUID.randomUUID();
+
+  @Test
+  void testBreakerOpensOnceEnoughRequestsFailed() {
+    final List<CircuitBreaker.State> states = new CopyOnWriteArrayList<>();
+    final CircuitBreaker breaker = new CircuitBreaker(
+        settings(60_000, CircuitBreaker.Fallback.LAST_VALUE), (previous, state) -> states.add(state));
+
+    for (int i = 0; i < 5; i++) {
+      assertTrue(breaker.tryAcquire());
+      breaker.onSuccess(PLAYER, null, "balance", "100", 0);
+    }
+    for (int i = 0; i < 4; i++) {
+      assertTrue(breaker.tryAcquire());
+      breaker.onFailure();
+    }
+
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+    breaker.onFailure();
+
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertEquals(List.of(CircuitBreaker.State.OPEN), states);
+    assertFalse(breaker.tryAcquire());
+    assertEquals("100", breaker.fallback(PLAYER, null, "balance"));
+    assertNull(breaker.fallback(PLAYER, null, "unknown"));
+    assertEquals(1, breaker.getRejected());
+  }
+
+  @Test
+  void testSlowRequestsCountAsFailures() {
+    final CircuitBreaker breaker = new CircuitBreaker(
+        settings(60_000, CircuitBreaker.Fallback.PLACEHOLDER), (previous, state) -> { });
+
+    for (int i = 0; i < 10; i++) {
+      breaker.onSuccess(PLAYER, null, "balance", "100", 1_000_000_000L);
+    }
+
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertNull(breaker.fallback(PLAYER, null, "balance"));
+  }
+
+  @Test
+  void testBreakerProbesOnceTheCooldownElapsed() throws InterruptedException {
+    final List<CircuitBreaker.State> states = new CopyOnWriteArrayList<>();
+    final CircuitBreaker breaker = new CircuitBreaker(
+        settings(20, CircuitBreaker.Fallback.LAST_VALUE), (previous, state) -> states.add(state));
+
+    for (int i = 0; i < 10; i++) {
+      breaker.onFailure();
+    }
+    Thread.sleep(40);
+
+    assertTrue(breaker.tryAcquire());
+    assertFalse(breaker.tryAcquire());
+    breaker.onFailure();
+
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    Thread.sleep(40);
+
+    assertTrue(breaker.tryAcquire());
+    breaker.onSuccess(PLAYER, null, "balance", "100", 0);
+
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertEquals(List.of(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN,
+        CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.CLOSED),
+        states);
+  }
+
+  private static CircuitBreaker.Settings settings(final long cooldown,
+      final CircuitBreaker.Fallback fallback) {
+    return new CircuitBreaker.Settings(0.5, 50, 10, 60_000, cooldown, fallback, 100);
+  }
+
+}
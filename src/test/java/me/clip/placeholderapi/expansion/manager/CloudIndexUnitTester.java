@@ -0,0 +1,121 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import me.clip.placeholderapi.expansion.cloud.CloudExpansion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public final class CloudIndexUnitTester {
+
+  private static final String INDEX = "{\"player\": {\"author\": \"clip\", \"latest_version\": \"2.0\","
+      + " \"versions\": [{\"version\": \"2.0\", \"url\": \"https://example.org/player.jar\"}]}}";
+  private static final String ETAG = "\"v1\"";
+
+  @TempDir
+  File folder;
+
+  @Test
+  void testIndexIsPersistedAndRevalidated() throws IOException {
+    final AtomicInteger downloads = new AtomicInteger();
+    final HttpServer server = serve(downloads);
+
+    try {
+      final CloudIndex index = new CloudIndex(url(server), new File(folder, "index.json"));
+      assertNull(index.read());
+
+      final Map<String, CloudExpansion> fetched = index.fetch(false);
+      assertNotNull(fetched);
+      assertEquals("clip", fetched.get("player").getAuthor());
+      assertEquals(1, downloads.get());
+
+      final Map<String, CloudExpansion> persisted = index.read();
+      assertNotNull(persisted);
+      assertEquals("2.0", persisted.get("player").getLatestVersion());
+
+      assertNull(index.fetch(true));
+      assertEquals(1, downloads.get());
+
+      assertNotNull(index.fetch(false));
+      assertEquals(2, downloads.get());
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  void testCorruptIndexIsReported() throws IOException {
+    final File file = new File(folder, "index.json");
+    Files.write(file.toPath(), "{\"player\": ".getBytes(StandardCharsets.UTF_8));
+
+    final CloudIndex index = new CloudIndex(new URL("http://127.0.0.1:1/"), file);
+    assertThrows(IOException.class, index::read);
+
+    index.delete();
+    assertNull(index.read());
+  }
+
+  private static HttpServer serve(final AtomicInteger downloads) throws IOException {
+    final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+
+    server.createContext("/", exchange -> {
+      if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+        return;
+      }
+
+      downloads.incrementAndGet();
+
+      final byte[] body = INDEX.getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("ETag", ETAG);
+      exchange.sendResponseHeaders(200, body.length);
+
+      try (final OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+
+    server.start();
+    return server;
+  }
+
+  private static URL url(final HttpServer server) throws IOException {
+    return new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public final class ConfigWriterUnitTester {
+
+  @TempDir
+  File folder;
+
+  @Test
+  void testWritesAreAppliedInOrder() throws IOException {
+    final File file = new File(folder, "config.yml");
+    final ConfigWriter writer = new ConfigWriter(file);
+
+    for (int i = 0; i < 100; i++) {
+      writer.write("version: " + i + "\n");
+    }
+    writer.await();
+
+    assertEquals("version: 99\n", new String(Files.readAllBytes(file.toPath()),
+        StandardCharsets.UTF_8));
+    assertEquals(1, folder.list().length);
+  }
+
+  @Test
+  void testFailuresAreReportedToTheWriter() {
+    final File blocked = new File(folder, "blocked");
+    assertTrue(blocked.mkdir());
+
+    // the path of the config is taken by a non-empty folder
+    final ConfigWriter writer = new ConfigWriter(blocked);
+    assertTrue(new File(blocked, "child").mkdir());
+
+    assertThrows(CompletionException.class, () -> writer.write("version: 1\n").join());
+    writer.await();
+  }
+
+}
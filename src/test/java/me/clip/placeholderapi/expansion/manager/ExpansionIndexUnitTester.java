@@ -0,0 +1,124 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public final class ExpansionIndexUnitTester {
+
+  @TempDir
+  File folder;
+
+  @Test
+  void testResultsArePersistedForUnchangedJars() throws IOException {
+    final File valid = jar("Expansion-player.jar", "player");
+    final File invalid = jar("Expansion-broken.jar", "broken");
+
+    final ExpansionIndex index = new ExpansionIndex(new File(folder, "index.json"), "1.0");
+    index.load();
+    assertNull(index.get(valid, ExpansionIndex.Entry.fingerprint(valid)));
+
+    index.put(valid, ExpansionIndex.Entry.fingerprint(valid).withResult("com.example.Player", true));
+    index.put(invalid, ExpansionIndex.Entry.fingerprint(invalid).withResult(null, true));
+    index.save(List.of(valid.getName(), invalid.getName()));
+
+    final ExpansionIndex reloaded = new ExpansionIndex(new File(folder, "index.json"), "1.0");
+    reloaded.load();
+
+    final ExpansionIndex.Entry player = reloaded.get(valid, ExpansionIndex.Entry.fingerprint(valid));
+    assertNotNull(player);
+    assertEquals("com.example.Player", player.getClassName());
+    assertTrue(player.isValid());
+
+    final ExpansionIndex.Entry broken = reloaded.get(invalid,
+        ExpansionIndex.Entry.fingerprint(invalid));
+    assertNotNull(broken);
+    assertNull(broken.getClassName());
+    assertFalse(broken.isValid());
+  }
+
+  @Test
+  void testChangedJarsAreNotFound() throws IOException {
+    final File jar = jar("Expansion-player.jar", "player");
+    final long modified = jar.lastModified();
+
+    final ExpansionIndex index = new ExpansionIndex(new File(folder, "index.json"), "1.0");
+    index.put(jar, ExpansionIndex.Entry.fingerprint(jar).withResult("com.example.Player", true));
+
+    // same size and modification time, different content
+    Files.write(jar.toPath(), "PLAYER".getBytes(StandardCharsets.UTF_8));
+    assertTrue(jar.setLastModified(modified));
+
+    assertNull(index.get(jar, ExpansionIndex.Entry.fingerprint(jar)));
+  }
+
+  @Test
+  void testRemovedJarsAndOtherVersionsAreDropped() throws IOException {
+    final File jar = jar("Expansion-player.jar", "player");
+
+    final ExpansionIndex index = new ExpansionIndex(new File(folder, "index.json"), "1.0");
+    index.put(jar, ExpansionIndex.Entry.fingerprint(jar).withResult("com.example.Player", true));
+    index.save(List.of(jar.getName()));
+
+    final ExpansionIndex upgraded = new ExpansionIndex(new File(folder, "index.json"), "2.0");
+    upgraded.load();
+    assertNull(upgraded.get(jar, ExpansionIndex.Entry.fingerprint(jar)));
+
+    index.save(Collections.emptyList());
+    index.load();
+    assertNull(index.get(jar, ExpansionIndex.Entry.fingerprint(jar)));
+  }
+
+  @Test
+  void testCorruptedIndexIsRejected() throws IOException {
+    final File file = new File(folder, "index.json");
+    Files.write(file.toPath(), "{\"version\": \"1.0\", \"jars\": [".getBytes(StandardCharsets.UTF_8));
+
+    final ExpansionIndex index = new ExpansionIndex(file, "1.0");
+    assertThrows(IOException.class, index::load);
+
+    index.delete();
+    assertFalse(file.exists());
+    index.load();
+  }
+
+  private File jar(final String name, final String content) throws IOException {
+    final File jar = new File(folder, name);
+    Files.write(jar.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    return jar;
+  }
+
+}
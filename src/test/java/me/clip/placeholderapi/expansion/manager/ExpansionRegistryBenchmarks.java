@@ -0,0 +1,294 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import me.clip.placeholderapi.Values;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Expansion lookups from 1, 4, 16 and 64 threads, alone and while one of those threads keeps
+ * registering and unregistering an expansion, the way region threads resolve placeholders on
+ * Folia during a reload. The {@link ExpansionRegistry} is measured against the locked and the
+ * concurrent map {@link LocalExpansionManager} used before it. Sample time reports the tail
+ * latency percentiles next to the throughput:
+ * {@code ./gradlew jmh -PjmhInclude=ExpansionRegistryBenchmarks}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExpansionRegistryBenchmarks {
+
+  private static final String CHURN = "churn";
+
+  @Param({"registry", "locked", "concurrent"})
+  public String store;
+
+  @Param({"50", "500"})
+  public int expansions;
+
+  private Store lookup;
+  private String[] identifiers;
+
+  @Setup
+  public void setup() {
+    switch (store) {
+      case "registry":
+        lookup = new RegistryStore();
+        break;
+      case "locked":
+        lookup = new LockedStore();
+        break;
+      case "concurrent":
+        lookup = new ConcurrentStore();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown store " + store);
+    }
+
+    final PlaceholderExpansion expansion = new Values.MockPlayerPlaceholderExpansion();
+    identifiers = new String[expansions];
+
+    for (int i = 0; i < expansions; i++) {
+      identifiers[i] = "expansion" + i;
+      lookup.put(identifiers[i], expansion);
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public PlaceholderExpansion measureRead1(final Reader reader) {
+    return lookup.get(reader.next(identifiers));
+  }
+
+  @Benchmark
+  @Threads(4)
+  public PlaceholderExpansion measureRead4(final Reader reader) {
+    return lookup.get(reader.next(identifiers));
+  }
+
+  @Benchmark
+  @Threads(16)
+  public PlaceholderExpansion measureRead16(final Reader reader) {
+    return lookup.get(reader.next(identifiers));
+  }
+
+  @Benchmark
+  @Threads(64)
+  public PlaceholderExpansion measureRead64(final Reader reader) {
+    return lookup.get(reader.next(identifiers));
+  }
+
+  @Benchmark
+  @Group("contended4")
+  @GroupThreads(3)
+  public PlaceholderExpansion measureContended4Read(final Reader reader) {
+    return lookup.get(reader.next(identifiers));
+  }
+
+  @Benchmark
+  @Group("contended4")
+  @GroupThreads(1)
+  public void measureContended4Write(final Writer writer) {
+    writer.toggle(lookup);
+  }
+
+  @Benchmark
+  @Group("contended16")
+  @GroupThreads(15)
+  public PlaceholderExpansion measureContended16Read(final Reader reader) {
+    return lookup.get(reader.next(identifiers));
+  }
+
+  @Benchmark
+  @Group("contended16")
+  @GroupThreads(1)
+  public void measureContended16Write(final Writer writer) {
+    writer.toggle(lookup);
+  }
+
+  @Benchmark
+  @Group("contended64")
+  @GroupThreads(63)
+  public PlaceholderExpansion measureContended64Read(final Reader reader) {
+    return lookup.get(reader.next(identifiers));
+  }
+
+  @Benchmark
+  @Group("contended64")
+  @GroupThreads(1)
+  public void measureContended64Write(final Writer writer) {
+    writer.toggle(lookup);
+  }
+
+  /**
+   * Walks the registered identifiers, each reader thread on its own.
+   */
+  @State(Scope.Thread)
+  public static class Reader {
+
+    private int index;
+
+    String next(final String[] identifiers) {
+      if (++index >= identifiers.length) {
+        index = 0;
+      }
+
+      return identifiers[index];
+    }
+
+  }
+
+  /**
+   * Alternates between registering and unregistering the same expansion, so the registry
+   * keeps its size.
+   */
+  @State(Scope.Thread)
+  public static class Writer {
+
+    private final PlaceholderExpansion expansion = new Values.MockPlayerPlaceholderExpansion();
+    private boolean registered;
+
+    void toggle(final Store store) {
+      if (registered) {
+        store.remove(CHURN);
+      } else {
+        store.put(CHURN, expansion);
+      }
+
+      registered = !registered;
+    }
+
+  }
+
+  interface Store {
+
+    PlaceholderExpansion get(String identifier);
+
+    void put(String identifier, PlaceholderExpansion expansion);
+
+    void remove(String identifier);
+
+  }
+
+  private static final class RegistryStore implements Store {
+
+    private final ExpansionRegistry registry = new ExpansionRegistry();
+
+    @Override
+    public PlaceholderExpansion get(final String identifier) {
+      return registry.get(identifier);
+    }
+
+    @Override
+    public void put(final String identifier, final PlaceholderExpansion expansion) {
+      registry.put(identifier, expansion);
+    }
+
+    @Override
+    public void remove(final String identifier) {
+      registry.remove(identifier);
+    }
+
+  }
+
+  /**
+   * Every access behind one lock, as the expansion manager did before the registry.
+   */
+  private static final class LockedStore implements Store {
+
+    private final Map<String, PlaceholderExpansion> expansions = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public PlaceholderExpansion get(final String identifier) {
+      lock.lock();
+      try {
+        return expansions.get(identifier);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void put(final String identifier, final PlaceholderExpansion expansion) {
+      lock.lock();
+      try {
+        expansions.put(identifier, expansion);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void remove(final String identifier) {
+      lock.lock();
+      try {
+        expansions.remove(identifier);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+  }
+
+  /**
+   * A concurrent map without the lock, fast to read but without a consistent view across
+   * several lookups.
+   */
+  private static final class ConcurrentStore implements Store {
+
+    private final Map<String, PlaceholderExpansion> expansions = new ConcurrentHashMap<>();
+
+    @Override
+    public PlaceholderExpansion get(final String identifier) {
+      return expansions.get(identifier);
+    }
+
+    @Override
+    public void put(final String identifier, final PlaceholderExpansion expansion) {
+      expansions.put(identifier, expansion);
+    }
+
+    @Override
+    public void remove(final String identifier) {
+      expansions.remove(identifier);
+    }
+
+  }
+
+}
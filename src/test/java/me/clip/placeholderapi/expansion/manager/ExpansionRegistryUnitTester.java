@@ -0,0 +1,81 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.clip.placeholderapi.Values;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.junit.jupiter.api.Test;
+
+public final class ExpansionRegistryUnitTester {
+
+  @Test
+  void testRegistryPublishesRegistrations() {
+    final ExpansionRegistry registry = new ExpansionRegistry();
+    final PlaceholderExpansion expansion = new Values.MockPlayerPlaceholderExpansion();
+
+    assertNull(registry.put("player", expansion));
+    assertSame(expansion, registry.get("player"));
+    assertTrue(registry.snapshot().getIdentifiers().contains("player"));
+    assertTrue(registry.snapshot().getExpansions().contains(expansion));
+  }
+
+  @Test
+  void testRegistryGenerationChangesOnModification() {
+    final ExpansionRegistry registry = new ExpansionRegistry();
+    final long initial = registry.generation();
+
+    registry.put("player", new Values.MockPlayerPlaceholderExpansion());
+    final long registered = registry.generation();
+    assertTrue(registered > initial);
+
+    assertNull(registry.remove("unknown"));
+    assertEquals(registered, registry.generation());
+
+    registry.remove("player");
+    assertTrue(registry.generation() > registered);
+  }
+
+  @Test
+  void testSnapshotsAreNotAffectedByLaterModifications() {
+    final ExpansionRegistry registry = new ExpansionRegistry();
+    final PlaceholderExpansion first = new Values.MockPlayerPlaceholderExpansion();
+    final PlaceholderExpansion second = new Values.MockPlayerPlaceholderExpansion();
+
+    registry.put("player", first);
+    final ExpansionRegistry.Snapshot snapshot = registry.snapshot();
+
+    assertSame(first, registry.put("player", second));
+    assertSame(first, snapshot.asMap().get("player"));
+    assertSame(second, registry.get("player"));
+
+    assertSame(second, registry.remove("player"));
+    assertFalse(registry.snapshot().getIdentifiers().contains("player"));
+    assertEquals(1, snapshot.size());
+  }
+
+}
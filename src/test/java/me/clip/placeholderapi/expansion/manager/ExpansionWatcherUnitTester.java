@@ -0,0 +1,69 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public final class ExpansionWatcherUnitTester {
+
+  @TempDir
+  File folder;
+
+  @Test
+  void testChangedJarsAreReportedTogetherOnceQuiet() throws IOException, InterruptedException {
+    final BlockingQueue<Set<String>> changes = new ArrayBlockingQueue<>(8);
+
+    try (final ExpansionWatcher watcher = new ExpansionWatcher(folder.toPath(), 200,
+        TimeUnit.MILLISECONDS, changes::add)) {
+      watcher.start();
+
+      write("Expansion-player.jar", "player");
+      write("Expansion-server.jar", "server");
+      write("notes.txt", "ignored");
+      write("Expansion-player.jar", "player, again");
+
+      final Set<String> changed = changes.poll(10, TimeUnit.SECONDS);
+      assertNotNull(changed);
+      assertEquals(Set.of("Expansion-player.jar", "Expansion-server.jar"), changed);
+
+      Files.delete(new File(folder, "Expansion-server.jar").toPath());
+      assertEquals(Set.of("Expansion-server.jar"), changes.poll(10, TimeUnit.SECONDS));
+    }
+  }
+
+  private void write(final String name, final String content) throws IOException {
+    Files.write(new File(folder, name).toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.expansion.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import me.clip.placeholderapi.expansion.Batchable;
+import me.clip.placeholderapi.expansion.Memoizable;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+public final class ValueCacheUnitTester {
+
+  @Test
+  void testValuesAreCachedForMatchingParameters() {
+    final CountingExpansion expansion = new CountingExpansion(ImmutableMap.of("cached.*", 60_000L));
+    final ValueCache cache = ValueCache.of(expansion);
+    assertNotNull(cache);
+
+    assertEquals("cached_1", cache.request(expansion, null, "cached"));
+    assertEquals("cached_1", cache.request(expansion, null, "cached"));
+    assertEquals("other_2", cache.request(expansion, null, "other"));
+    assertEquals("other_3", cache.request(expansion, null, "other"));
+
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  void testValuesExpire() throws InterruptedException {
+    final CountingExpansion expansion = new CountingExpansion(ImmutableMap.of("cached", 1L));
+    final ValueCache cache = ValueCache.of(expansion);
+    assertNotNull(cache);
+
+    assertEquals("cached_1", cache.request(expansion, null, "cached"));
+    Thread.sleep(5);
+    assertEquals("cached_2", cache.request(expansion, null, "cached"));
+  }
+
+  @Test
+  void testValuesAreCachedPerPlayerAndEvicted() {
+    final CountingExpansion expansion = new CountingExpansion(ImmutableMap.of("cached", 60_000L));
+    final ValueCache cache = ValueCache.of(expansion);
+    assertNotNull(cache);
+
+    final UUID uuid = UUID.randomUUID();
+    final OfflinePlayer one = player(uuid);
+    final OfflinePlayer two = player(UUID.randomUUID());
+
+    assertEquals("cached_1", cache.request(expansion, one, "cached"));
+    assertEquals("cached_2", cache.request(expansion, two, "cached"));
+    assertEquals("cached_1", cache.request(expansion, one, "cached"));
+
+    cache.evict(uuid);
+
+    assertEquals("cached_3", cache.request(expansion, one, "cached"));
+    assertEquals("cached_2", cache.request(expansion, two, "cached"));
+  }
+
+  @Test
+  void testUncachedParametersDoNotEvictValues() {
+    final CountingExpansion expansion = new CountingExpansion(ImmutableMap.of("cached", 60_000L),
+        1);
+    final ValueCache cache = ValueCache.of(expansion);
+    assertNotNull(cache);
+
+    assertEquals("cached_1", cache.request(expansion, null, "cached"));
+    for (int i = 0; i < 8; i++) {
+      cache.request(expansion, null, "other_" + i);
+    }
+    assertEquals("cached_1", cache.request(expansion, null, "cached"));
+
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void testBatchRequestsOnlyUncachedValues() {
+    final CountingExpansion expansion = new CountingExpansion(ImmutableMap.of("cached.*", 60_000L));
+    final ValueCache cache = ValueCache.of(expansion);
+    assertNotNull(cache);
+
+    assertEquals(ImmutableMap.of("cached", "cached_1", "other", "other_2"),
+        cache.requestBatch(expansion, null, Arrays.asList("cached", "other"), null));
+    assertEquals(ImmutableMap.of("cached", "cached_1", "other", "other_3"),
+        cache.requestBatch(expansion, null, Arrays.asList("cached", "other"), null));
+
+    assertEquals(Arrays.asList("other"), expansion.lastBatch);
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  void testNoCacheWithoutPositiveDuration() {
+    assertNull(ValueCache.of(new CountingExpansion(ImmutableMap.of("cached", 0L))));
+  }
+
+  @NotNull
+  private static OfflinePlayer player(@NotNull final UUID uuid) {
+    return (OfflinePlayer) Proxy.newProxyInstance(OfflinePlayer.class.getClassLoader(),
+        new Class<?>[]{OfflinePlayer.class},
+        (proxy, method, args) -> method.getName().equals("getUniqueId") ? uuid : null);
+  }
+
+
+  private static final class CountingExpansion extends PlaceholderExpansion implements
+      Memoizable, Batchable {
+
+    @NotNull
+    private final Map<String, Long> durations;
+    private final long maximumSize;
+    private int requests;
+    @Nullable
+    private List<String> lastBatch;
+
+    private CountingExpansion(@NotNull final Map<String, Long> durations) {
+      this(durations, 1_000);
+    }
+
+    private CountingExpansion(@NotNull final Map<String, Long> durations,
+        final long maximumSize) {
+      this.durations = durations;
+      this.maximumSize = maximumSize;
+    }
+
+    @NotNull
+    @Override
+    public String getIdentifier() {
+      return "counting";
+    }
+
+    @NotNull
+    @Override
+    public String getAuthor() {
+      return "Funnycube";
+    }
+
+    @NotNull
+    @Override
+    public String getVersion() {
+      return "1.0";
+    }
+
+    @NotNull
+    @Override
+    public Map<String, Long> getCacheDurations() {
+      return durations;
+    }
+
+    @Override
+    public long getMaximumCacheSize() {
+      return maximumSize;
+    }
+
+    @Override
+    public String onRequest(@Nullable final OfflinePlayer player, @NotNull final String params) {
+      return params + "_" + ++requests;
+    }
+
+    @NotNull
+    @Override
+    public Map<String, String> onRequestBatch(@Nullable final OfflinePlayer player,
+        @NotNull final List<String> params) {
+      lastBatch = params;
+
+      final Map<String, String> values = new HashMap<>();
+      for (final String param : params) {
+        values.put(param, onRequest(player, param));
+      }
+      return values;
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public final class MetricsExporterUnitTester {
+
+  @Test
+  void testSamplesAreWrittenInTheOpenMetricsFormat() {
+    final String exposition = new OpenMetricsWriter()
+        .family("papi_requests", "counter", null, "Requests\nmade")
+        .sample("papi_requests_total", 3, "expansion", "quote\"d", "kind", "back\\slash")
+        .family("papi_latency_seconds", "gauge", "seconds", "Latency")
+        .seconds("papi_latency_seconds", 1_500_000)
+        .finish();
+
+    assertEquals("# TYPE papi_requests counter\n"
+        + "# HELP papi_requests Requests\\nmade\n"
+        + "papi_requests_total{expansion=\"quote\\\"d\",kind=\"back\\\\slash\"} 3\n"
+        + "# TYPE papi_latency_seconds gauge\n"
+        + "# UNIT papi_latency_seconds seconds\n"
+        + "# HELP papi_latency_seconds Latency\n"
+        + "papi_latency_seconds 0.0015\n"
+        + "# EOF\n", exposition);
+  }
+
+  @Test
+  void testMetricsAreServedOverHttp() throws IOException {
+    try (final MetricsExporter exporter = new MetricsExporter(
+        new InetSocketAddress("127.0.0.1", 0),
+        writer -> writer.family("papi_up", "gauge", null, "Up").sample("papi_up", 1))) {
+      final URL url = new URL("http://127.0.0.1:" + exporter.getAddress().getPort() + "/metrics");
+      final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+
+      assertEquals(200, connection.getResponseCode());
+      assertEquals(OpenMetricsWriter.CONTENT_TYPE, connection.getContentType());
+
+      try (final InputStream input = connection.getInputStream()) {
+        final String body = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("\npapi_up 1\n"));
+        assertTrue(body.endsWith("# EOF\n"));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public final class PlaceholderMetricsUnitTester {
+
+  @Test
+  void testBucketsCoverEveryValueWithinAQuarter() {
+    long previous = -1;
+    for (long value = 0; value < 1 << 20; value += 1 + value / 64) {
+      final int bucket = LatencyHistogram.bucketOf(value);
+      final long upper = LatencyHistogram.upperBoundOf(bucket);
+
+      assertTrue(upper >= value, "bucket of " + value + " ends at " + upper);
+      assertTrue(upper - value <= Math.max(value / 4, 1), value + " rounded to " + upper);
+      assertTrue(bucket >= previous);
+      previous = bucket;
+    }
+  }
+
+  @Test
+  void testPercentilesAreWithinTheirBucket() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1_000L);
+    }
+
+    final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+    assertEquals(1000, snapshot.getCount());
+    assertEquals(500_500, snapshot.getMean());
+    assertEquals(1_000_000, snapshot.getMax());
+    assertTrue(Math.abs(snapshot.getPercentile(0.5) - 500_000) <= 500_000 / 4);
+    assertTrue(Math.abs(snapshot.getPercentile(0.99) - 990_000) <= 990_000 / 4);
+    assertEquals(1_000_000, snapshot.getPercentile(1));
+  }
+
+  @Test
+  void testConcurrentRecordsAreAllCounted() throws InterruptedException {
+    final ExpansionMetrics metrics = new ExpansionMetrics("test");
+    final List<Thread> threads = new ArrayList<>();
+
+    for (int t = 0; t < 8; t++) {
+      final Thread thread = new Thread(() -> {
+        for (int i = 0; i < 10_000; i++) {
+          metrics.record(i, i % 10 == 0);
+        }
+        metrics.recordError(5);
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(80_008, metrics.getRequests());
+    assertEquals(8, metrics.getErrors());
+    assertEquals(8_000, metrics.getNulls());
+    assertEquals(80_008, metrics.getLatency().getCount());
+  }
+
+  @Test
+  void testExpansionsAreLookedUpIgnoringCase() {
+    final PlaceholderMetrics metrics = PlaceholderMetrics.getInstance();
+    metrics.reset();
+
+    final ExpansionMetrics player = metrics.of("Player");
+    player.record(100, false);
+
+    assertSame(player, metrics.of("Player"));
+    assertSame(player, metrics.getExpansion("player"));
+    assertEquals(1, metrics.getExpansions().size());
+
+    metrics.reset();
+
+    assertNull(metrics.getExpansion("player"));
+    assertEquals(0, player.getRequests());
+  }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import me.clip.placeholderapi.util.WarnThrottle;
+import org.junit.jupiter.api.Test;
+
+public final class PlaceholderWatchdogUnitTester {
+
+  @Test
+  void testSlowRequestsAreReportedWithTheirStack() throws InterruptedException {
+    final List<String> logged = new CopyOnWriteArrayList<>();
+    final WarnThrottle throttle = new WarnThrottle(logged::add, 1, TimeUnit.HOURS);
+    final PlaceholderWatchdog watchdog = PlaceholderWatchdog.getInstance();
+
+    watchdog.start(20, TimeUnit.MILLISECONDS, throttle);
+    try {
+      for (int i = 0; i < 1000; i++) {
+        watchdog.exit(watchdog.enter("fast", "value"));
+      }
+
+      final PlaceholderWatchdog.Slot slot = watchdog.enter("database", "query");
+      try {
+        Thread.sleep(200);
+      } finally {
+        watchdog.exit(slot);
+      }
+    } finally {
+      watchdog.stop();
+      throttle.close();
+    }
+
+    assertEquals(1, logged.size());
+    assertTrue(logged.get(0).startsWith("Placeholder %database_query% has been running for "));
+    assertTrue(logged.get(0).contains("testSlowRequestsAreReportedWithTheirStack"));
+  }
+
+  @Test
+  void testNothingIsWatchedOnceStopped() {
+    final PlaceholderWatchdog watchdog = PlaceholderWatchdog.getInstance();
+    final WarnThrottle throttle = new WarnThrottle(message -> { }, 1, TimeUnit.HOURS);
+
+    watchdog.start(0, TimeUnit.MILLISECONDS, throttle);
+    assertFalse(watchdog.isEnabled());
+
+    watchdog.start(1, TimeUnit.SECONDS, throttle);
+    assertTrue(watchdog.isEnabled());
+
+    watchdog.stop();
+    assertFalse(watchdog.isEnabled());
+    throttle.close();
+  }
+
+}
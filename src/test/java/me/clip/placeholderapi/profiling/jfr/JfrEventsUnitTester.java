@@ -0,0 +1,82 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.profiling.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import me.clip.placeholderapi.Values;
+import org.junit.jupiter.api.Test;
+
+public final class JfrEventsUnitTester {
+
+  @Test
+  void testReplacementsAreRecordedWhileEnabled() throws IOException {
+    final Path file = Files.createTempFile("placeholderapi", ".jfr");
+
+    try (final Recording recording = new Recording()) {
+      recording.enable(TextReplacementEvent.class).withThreshold(null);
+      recording.enable(ExpansionRequestEvent.class).withThreshold(null);
+      recording.start();
+
+      assertTrue(ExpansionRequestEvent.isRecorded());
+      Values.CHARS_REPLACER.apply("%player_name% is at %player_x%", null, Values.PLACEHOLDERS::get);
+
+      recording.stop();
+      recording.dump(file);
+    }
+
+    final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+    Files.delete(file);
+
+    final List<RecordedEvent> replacements = events.stream()
+        .filter(event -> event.getEventType().getName().equals("placeholderapi.TextReplacement"))
+        .collect(Collectors.toList());
+    final List<RecordedEvent> requests = events.stream()
+        .filter(event -> event.getEventType().getName().equals("placeholderapi.ExpansionRequest"))
+        .collect(Collectors.toList());
+
+    assertEquals(1, replacements.size());
+    assertEquals("chars", replacements.get(0).getString("replacer"));
+    assertEquals(2, replacements.get(0).getInt("placeholders"));
+    assertEquals(2, replacements.get(0).getInt("replaced"));
+
+    assertEquals(2, requests.size());
+    assertEquals("player", requests.get(0).getString("identifier"));
+    assertFalse(requests.get(0).getBoolean("cacheHit"));
+  }
+
+  @Test
+  void testNothingIsRecordedOutsideOfARecording() {
+    assertFalse(ExpansionRequestEvent.isRecorded());
+  }
+
+}
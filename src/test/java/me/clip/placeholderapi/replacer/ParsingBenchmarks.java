@@ -0,0 +1,73 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.replacer;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The chars replacer over every {@link ParsingCorpus} with both closures, line by line and
+ * through a list the way the list overloads do it:
+ * {@code ./gradlew jmh -PjmhInclude=ParsingBenchmarks}.
+ * <p>
+ * Record a baseline with {@code ./gradlew jmhBaseline} and compare against it with
+ * {@code ./gradlew jmhCompare}.
+ */
+@State(Scope.Benchmark)
+public class ParsingBenchmarks {
+
+  @Param
+  public ParsingCorpus corpus;
+
+  @Param
+  public Replacer.Closure closure;
+
+  private Replacer replacer;
+  private List<String> lines;
+
+  @Setup
+  public void setup() {
+    replacer = new CharsReplacer(closure);
+    lines = corpus.lines(closure);
+  }
+
+  @Benchmark
+  public void measureLines(final Blackhole blackhole) {
+    for (final String line : lines) {
+      blackhole.consume(replacer.apply(line, null, ParsingCorpus.EXPANSIONS::get));
+    }
+  }
+
+  @Benchmark
+  public List<String> measureList() {
+    return lines.stream()
+        .map(line -> replacer.apply(line, null, ParsingCorpus.EXPANSIONS::get))
+        .collect(Collectors.toList());
+  }
+
+}
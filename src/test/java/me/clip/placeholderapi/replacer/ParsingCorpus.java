@@ -0,0 +1,220 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.replacer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import me.clip.placeholderapi.Values;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Texts the parsing benchmarks run over, written with the percent closure. Each corpus is a
+ * list of lines, the way plugins hand them to the list overloads of
+ * {@link me.clip.placeholderapi.PlaceholderAPI}.
+ */
+public enum ParsingCorpus {
+
+  /**
+   * A sidebar, updated every few ticks for every online player.
+   */
+  SCOREBOARD(
+      "&6&lSURVIVAL",
+      "&7Name: &f%player_name%",
+      "&7Balance: &a$%vault_eco_balance_formatted%",
+      "&7Kills: &c%statistic_player_kills% &7Deaths: &c%statistic_deaths%",
+      "&7Location: &f%player_x%, %player_y%, %player_z%",
+      "&7Online: &f%server_online%&7/&f%server_max_players%",
+      "&7TPS: &a%server_tps_1%",
+      "&eplay.example.net"),
+
+  /**
+   * Tab header, footer and a player list name, with the relational colour of the viewer.
+   */
+  TAB(
+      "&b&lEXAMPLE NETWORK &7| &f%server_online% online",
+      "&7You are connected to &f%server_name% &7(%player_ping%ms)",
+      "%rel_relation_color%%vault_prefix%%player_name%%vault_suffix%",
+      "&7TPS: &a%server_tps_1% &7RAM: &f%server_ram_used%/%server_ram_max% MB",
+      "&7Store: &estore.example.net"),
+
+  /**
+   * Chat formats and messages, including stray percent signs typed by players.
+   */
+  CHAT(
+      "%vault_prefix%%player_name%%vault_suffix%&7: &f%message%",
+      "&8[%rel_relation_status%&8] %player_name%&7: anyone selling diamonds? 50% off mine",
+      "%player_name% &7has reached &f100% &7of the daily goal",
+      "&7Everything in the shop is 25% off until %server_time_HH:mm%!"),
+
+  /**
+   * Tokens that look like placeholders but are not: empty, without an identifier or params,
+   * with spaces, doubled or mismatched closures.
+   */
+  MALFORMED(
+      "%% %player_% %_name% % player_name %",
+      "%player name% %player_name%%% %%player_name%%",
+      "{player_name% %player_name} {%player_name%}",
+      "%_% %__% %player__name% %PLAYER_NAME%"),
+
+  /**
+   * Lines opening a placeholder that is never closed, which forces a scan to the end of the
+   * line.
+   */
+  UNTERMINATED(
+      "%player_name",
+      "Welcome %player_name to %server_name",
+      "&7Balance: &a$%vault_eco_balance_formatted &7and nothing else on this line at all",
+      "%" + "a".repeat(256)),
+
+  /**
+   * A single line of more than 10 KB, such as a book page or a serialized lore.
+   */
+  LONG(longText(10 * 1024)),
+
+  /**
+   * Well formed placeholders of expansions that are not installed.
+   */
+  UNKNOWN(
+      "%unknown_value% %missing_identifier_with_params% %foo_bar%",
+      "&7Rank: %luckperms_primary_group_name% &7Guild: %guilds_name%",
+      "%essentials_nickname% %mcmmo_power_level% %factions_faction%");
+
+
+  /**
+   * The expansions available to the benchmarks, anything else is an unknown identifier.
+   */
+  public static final ImmutableMap<String, PlaceholderExpansion> EXPANSIONS =
+      ImmutableMap.<String, PlaceholderExpansion>builder()
+          .putAll(Values.PLACEHOLDERS)
+          .put("vault", new FixedPlaceholderExpansion("vault", "&a1,250.00"))
+          .put("server", new FixedPlaceholderExpansion("server", "42"))
+          .put("statistic", new FixedPlaceholderExpansion("statistic", "17"))
+          .build();
+
+  private final List<String> lines;
+
+  ParsingCorpus(@NotNull final String... lines) {
+    this.lines = ImmutableList.copyOf(lines);
+  }
+
+  /**
+   * The lines of this corpus written with the given closure.
+   */
+  @NotNull
+  public List<String> lines(@NotNull final Replacer.Closure closure) {
+    if (closure == Replacer.Closure.PERCENT) {
+      return lines;
+    }
+
+    final ImmutableList.Builder<String> builder = ImmutableList.builder();
+    for (final String line : lines) {
+      builder.add(close(line, closure));
+    }
+
+    return builder.build();
+  }
+
+  /**
+   * Swaps the percent signs for the given closure, alternating between its head and tail so
+   * well formed tokens stay well formed and malformed ones stay malformed.
+   */
+  @NotNull
+  private static String close(@NotNull final String line, @NotNull final Replacer.Closure closure) {
+    final char[] chars = line.toCharArray();
+    boolean head = true;
+
+    for (int i = 0; i < chars.length; i++) {
+      if (chars[i] == '%') {
+        chars[i] = head ? closure.head : closure.tail;
+        head = !head;
+      }
+    }
+
+    return new String(chars);
+  }
+
+  @NotNull
+  private static String longText(final int length) {
+    // constants are created before the static fields, keep the lines local
+    final String[] lines = {
+        "&7Name: &f%player_name%",
+        "&7Balance: &a$%vault_eco_balance_formatted%",
+        "&7Location: &f%player_x%, %player_y%, %player_z%",
+        "&7Online: &f%server_online%&7/&f%server_max_players%",
+        "&7Rank: %luckperms_primary_group_name%"
+    };
+    final StringBuilder builder = new StringBuilder(length + 512);
+
+    while (builder.length() < length) {
+      for (final String line : lines) {
+        builder.append(line).append(' ');
+      }
+      builder.append("and some plain text between the placeholders, 100% of it without tokens. ");
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * An expansion answering every request with the same value.
+   */
+  private static final class FixedPlaceholderExpansion extends PlaceholderExpansion {
+
+    private final String identifier;
+    private final String value;
+
+    private FixedPlaceholderExpansion(@NotNull final String identifier,
+        @NotNull final String value) {
+      this.identifier = identifier;
+      this.value = value;
+    }
+
+    @NotNull
+    @Override
+    public String getIdentifier() {
+      return identifier;
+    }
+
+    @NotNull
+    @Override
+    public String getAuthor() {
+      return "PlaceholderAPI";
+    }
+
+    @NotNull
+    @Override
+    public String getVersion() {
+      return "1.0";
+    }
+
+    @Override
+    public String onRequest(@Nullable final OfflinePlayer player, @NotNull final String params) {
+      return value;
+    }
+
+  }
+
+}
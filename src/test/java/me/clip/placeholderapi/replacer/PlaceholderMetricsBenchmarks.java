@@ -0,0 +1,76 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.replacer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import me.clip.placeholderapi.Values;
+import me.clip.placeholderapi.profiling.ExpansionMetrics;
+import me.clip.placeholderapi.profiling.PlaceholderMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * The overhead of the placeholder metrics, compare both values of {@link #metrics}:
+ * {@code ./gradlew jmh -PjmhInclude=PlaceholderMetricsBenchmarks}.
+ */
+@State(Scope.Benchmark)
+public class PlaceholderMetricsBenchmarks {
+
+  @Param({"false", "true"})
+  public boolean metrics;
+
+  private ExpansionMetrics recorder;
+
+  @Setup
+  public void setup() {
+    PlaceholderMetrics.getInstance().setEnabled(metrics);
+    recorder = PlaceholderMetrics.getInstance().of("benchmark");
+  }
+
+  @TearDown
+  public void tearDown() {
+    PlaceholderMetrics.getInstance().setEnabled(false);
+    PlaceholderMetrics.getInstance().reset();
+  }
+
+  @Benchmark
+  public String measureSmallText() {
+    return Values.CHARS_REPLACER.apply(Values.SMALL_TEXT, null, Values.PLACEHOLDERS::get);
+  }
+
+  @Benchmark
+  public String measureLargeText() {
+    return Values.CHARS_REPLACER.apply(Values.LARGE_TEXT, null, Values.PLACEHOLDERS::get);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void measureContendedRecords() {
+    recorder.record(ThreadLocalRandom.current().nextInt(1 << 20), false);
+  }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.replacer;
+
+import java.util.List;
+import me.clip.placeholderapi.Values;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The relational replacer over every {@link ParsingCorpus}, most lines hold no relational
+ * placeholder at all and should cost little more than a scan:
+ * {@code ./gradlew jmh -PjmhInclude=RelationalParsingBenchmarks}.
+ */
+@State(Scope.Benchmark)
+public class RelationalParsingBenchmarks {
+
+  @Param
+  public ParsingCorpus corpus;
+
+  private List<String> lines;
+
+  @Setup
+  public void setup() {
+    lines = corpus.lines(Replacer.Closure.PERCENT);
+  }
+
+  @Benchmark
+  public void measureLines(final Blackhole blackhole) {
+    for (final String line : lines) {
+      blackhole.consume(Values.RELATIONAL_REPLACER.apply(line, null, null,
+          ParsingCorpus.EXPANSIONS::get));
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.replacer;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import me.clip.placeholderapi.Values;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.expansion.Relational;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class RelationalReplacerBenchmarks {
+
+  private static final Pattern RELATIONAL_PLACEHOLDER_PATTERN = Pattern
+      .compile("[%](rel_)([^%]+)[%]");
+
+  @Param({"1", "5", "20"})
+  public int tokens;
+
+  private String text;
+
+  @Setup
+  public void setup() {
+    final StringBuilder builder = new StringBuilder("&7[");
+
+    for (int i = 0; i < tokens; i++) {
+      builder.append(i % 2 == 0 ? "%rel_relation_color%" : "%rel_relation_status%")
+          .append(" Sxtanna ");
+    }
+
+    text = builder.append(']').toString();
+  }
+
+  @Benchmark
+  public String measureRelationalReplacer() {
+    return Values.RELATIONAL_REPLACER.apply(text, null, null, Values.PLACEHOLDERS::get);
+  }
+
+  @Benchmark
+  public String measureRelationalPattern() {
+    String text = this.text;
+    final Matcher matcher = RELATIONAL_PLACEHOLDER_PATTERN.matcher(text);
+
+    while (matcher.find()) {
+      final String format = matcher.group(2);
+      final int index = format.indexOf("_");
+
+      if (index <= 0 || index >= format.length()) {
+        continue;
+      }
+
+      final String identifier = format.substring(0, index).toLowerCase(Locale.ROOT);
+      final String params = format.substring(index + 1);
+      final PlaceholderExpansion expansion = Values.PLACEHOLDERS.get(identifier);
+
+      if (!(expansion instanceof Relational)) {
+        continue;
+      }
+
+      final String value = ((Relational) expansion).onPlaceholderRequest(null, null, params);
+
+      if (value != null) {
+        text = text.replaceAll(Pattern.quote(matcher.group()), Matcher.quoteReplacement(value));
+      }
+    }
+
+    return text;
+  }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.replacer;
+
+import static me.clip.placeholderapi.Values.MockRelationalPlaceholderExpansion.RELATION_COLOR;
+import static me.clip.placeholderapi.Values.MockRelationalPlaceholderExpansion.RELATION_STATUS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import me.clip.placeholderapi.Values;
+import org.junit.jupiter.api.Test;
+
+public final class RelationalReplacerUnitTester {
+
+  private static String apply(final String text) {
+    return Values.RELATIONAL_REPLACER.apply(text, null, null, Values.PLACEHOLDERS::get);
+  }
+
+  @Test
+  void testRelationalReplacerProducesExpectedValues() {
+    assertEquals(RELATION_STATUS, apply("%rel_relation_status%"));
+    assertEquals(RELATION_COLOR + "Sxtanna is your " + RELATION_STATUS,
+        apply("%rel_relation_color%Sxtanna is your %rel_RELATION_status%"));
+  }
+
+  @Test
+  void testRelationalReplacerReplacesRepeatedPlaceholders() {
+    assertEquals(RELATION_STATUS + " " + RELATION_STATUS + " " + RELATION_STATUS,
+        apply("%rel_relation_status% %rel_relation_status% %rel_relation_status%"));
+  }
+
+  @Test
+  void testRelationalReplacerIgnoresUnknownAndNonRelational() {
+    final String text = "%rel_unknown_status% %rel_player_name% %rel_relation_unknown%";
+
+    assertSame(text, apply(text));
+  }
+
+  @Test
+  void testRelationalReplacerMatchesLikeThePattern() {
+    assertEquals("%x" + RELATION_STATUS, apply("%x%rel_relation_status%"));
+    assertEquals("%rel_" + RELATION_STATUS, apply("%rel_%rel_relation_status%"));
+    assertEquals("%rel__status% %rel_relation%", apply("%rel__status% %rel_relation%"));
+    assertEquals("100% and %rel_relation_status", apply("100% and %rel_relation_status"));
+    assertEquals("%player_name% " + RELATION_COLOR,
+        apply("%player_name% %rel_relation_color%"));
+  }
+
+}
@@ -23,16 +23,25 @@ package me.clip.placeholderapi.replacer;
 import me.clip.placeholderapi.Values;
 import org.openjdk.jmh.annotations.Benchmark;
 
+/**
+ * Run with the GC profiler to see the allocation rate of each case:
+ * {@code ./gradlew jmh -PjmhInclude=ReplacerBenchmarks}.
+ */
 public class ReplacerBenchmarks {
 
   @Benchmark
-  public void measureCharsReplacerSmallText() {
-    Values.CHARS_REPLACER.apply(Values.SMALL_TEXT, null, Values.PLACEHOLDERS::get);
+  public String measureCharsReplacerPlainText() {
+    return Values.CHARS_REPLACER.apply(Values.PLAIN_TEXT, null, Values.PLACEHOLDERS::get);
+  }
+
+  @Benchmark
+  public String measureCharsReplacerSmallText() {
+    return Values.CHARS_REPLACER.apply(Values.SMALL_TEXT, null, Values.PLACEHOLDERS::get);
   }
 
   @Benchmark
-  public void measureCharsReplacerLargeText() {
-    Values.CHARS_REPLACER.apply(Values.LARGE_TEXT, null, Values.PLACEHOLDERS::get);
+  public String measureCharsReplacerLargeText() {
+    return Values.CHARS_REPLACER.apply(Values.LARGE_TEXT, null, Values.PLACEHOLDERS::get);
   }
 
-}
\ No newline at end of file
+}
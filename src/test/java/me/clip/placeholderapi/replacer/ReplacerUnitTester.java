@@ -25,7 +25,10 @@ import static me.clip.placeholderapi.Values.MockPlayerPlaceholderExpansion.PLAYE
 import static me.clip.placeholderapi.Values.MockPlayerPlaceholderExpansion.PLAYER_Y;
 import static me.clip.placeholderapi.Values.MockPlayerPlaceholderExpansion.PLAYER_Z;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
+import java.util.Arrays;
+import java.util.Collections;
 import me.clip.placeholderapi.Values;
 import org.junit.jupiter.api.Test;
 
@@ -60,4 +63,47 @@ public final class ReplacerUnitTester {
     assertEquals(text, Values.CHARS_REPLACER.apply(text, null, Values.PLACEHOLDERS::get));
   }
 
+  @Test
+  void testCharsReplacerReturnsSameInstanceWithoutPlaceholders() {
+    final String text = "no placeholders here";
+
+    assertSame(text, Values.CHARS_REPLACER.apply(text, null, Values.PLACEHOLDERS::get));
+  }
+
+  @Test
+  void testCharsReplacerReturnsSameInstanceWhenNothingResolves() {
+    final String text = "%server_name% and 10% and %player_unknown%";
+
+    assertSame(text, Values.CHARS_REPLACER.apply(text, null, Values.PLACEHOLDERS::get));
+  }
+
+  @Test
+  void testCharsReplacerIgnoresIdentifierCase() {
+    assertEquals(PLAYER_NAME + " " + PLAYER_NAME,
+        Values.CHARS_REPLACER.apply("%PLAYER_name% %Player_name%", null, Values.PLACEHOLDERS::get));
+  }
+
+  @Test
+  void testCharsReplacerBatchesRepeatedExpansion() {
+    final Values.MockBatchPlaceholderExpansion expansion = new Values.MockBatchPlaceholderExpansion();
+    final String text = "%batch_kills% / %batch_deaths% %player_name% %batch_kills% %batch_missing%";
+
+    assertEquals("KILLS / DEATHS " + PLAYER_NAME + " KILLS %batch_missing%",
+        Values.CHARS_REPLACER.apply(text, null,
+            identifier -> identifier.equals("batch") ? expansion : Values.PLACEHOLDERS.get(identifier)));
+
+    assertEquals(Collections.singletonList(Arrays.asList("kills", "deaths", "missing")),
+        expansion.batches);
+    assertEquals(0, expansion.requests);
+  }
+
+  @Test
+  void testCharsReplacerRequestsSingleBatchablePlaceholder() {
+    final Values.MockBatchPlaceholderExpansion expansion = new Values.MockBatchPlaceholderExpansion();
+
+    assertEquals("KILLS", Values.CHARS_REPLACER.apply("%batch_kills%", null, identifier -> expansion));
+    assertEquals(0, expansion.batches.size());
+    assertEquals(1, expansion.requests);
+  }
+
 }
@@ -0,0 +1,186 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.replacer;
+
+import static me.clip.placeholderapi.Values.MockPlayerPlaceholderExpansion.PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import me.clip.placeholderapi.Values;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import me.clip.placeholderapi.replacer.Replacer.Closure;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+public final class TemplateUnitTester {
+
+  private static PlaceholderTemplate compile(final String text) {
+    return PlaceholderTemplate.compile(text, Closure.PERCENT, Values.PLACEHOLDERS::get, () -> 0L);
+  }
+
+  @Test
+  void testTemplateProducesSameOutputAsCharsReplacer() {
+    final String[] texts = {
+        Values.SMALL_TEXT,
+        Values.LARGE_TEXT,
+        "%PLAYER_name%",
+        "%player%",
+        "%player_name",
+        "%player name%",
+        "%player_name x% and %player_y_z%",
+        "10% and %hello world 15%",
+        "%%",
+        "%",
+        "trailing %",
+        ""
+    };
+
+    for (final String text : texts) {
+      assertEquals(Values.CHARS_REPLACER.apply(text, null, Values.PLACEHOLDERS::get),
+          compile(text).apply(null), text);
+    }
+  }
+
+  @Test
+  void testTemplateWithoutPlaceholdersReturnsText() {
+    final String text = "no placeholders here";
+    final PlaceholderTemplate template = compile(text);
+
+    assertFalse(template.hasPlaceholders());
+    assertSame(text, template.apply(null));
+  }
+
+  @Test
+  void testTemplateRebindsOnGenerationChange() {
+    final Map<String, PlaceholderExpansion> expansions = new HashMap<>();
+    final AtomicLong generation = new AtomicLong();
+
+    final PlaceholderTemplate template = PlaceholderTemplate
+        .compile("%player_name%", Closure.PERCENT, expansions::get, generation::get);
+
+    assertEquals("%player_name%", template.apply(null));
+
+    expansions.put("player", new Values.MockPlayerPlaceholderExpansion());
+    generation.incrementAndGet();
+
+    assertEquals(PLAYER_NAME, template.apply(null));
+
+    expansions.clear();
+    generation.incrementAndGet();
+
+    assertEquals("%player_name%", template.apply(null));
+  }
+
+  @Test
+  void testRenderAllMatchesApplyForEveryPlayer() {
+    final AtomicInteger lookups = new AtomicInteger();
+    final PlaceholderExpansion expansion = new UniqueIdPlaceholderExpansion();
+
+    final PlaceholderTemplate template = PlaceholderTemplate.compile(
+        "%uuid_a% is %player_name%, %unknown_x% %uuid_b%", Closure.PERCENT, identifier -> {
+          lookups.incrementAndGet();
+          return identifier.equals("uuid") ? expansion : Values.PLACEHOLDERS.get(identifier);
+        }, () -> 0L);
+
+    final List<OfflinePlayer> players = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      players.add(player(UUID.randomUUID()));
+    }
+
+    final Map<UUID, String> rendered = template.renderAll(players);
+
+    assertEquals(4, lookups.get());
+    assertEquals(players.size(), rendered.size());
+
+    int index = 0;
+    for (final Map.Entry<UUID, String> entry : rendered.entrySet()) {
+      final OfflinePlayer player = players.get(index++);
+
+      assertEquals(player.getUniqueId(), entry.getKey());
+      assertEquals(template.apply(player), entry.getValue());
+    }
+  }
+
+  @Test
+  void testTemplateBatchesRepeatedExpansion() {
+    final Values.MockBatchPlaceholderExpansion expansion = new Values.MockBatchPlaceholderExpansion();
+    final String text = "%batch_kills% / %batch_deaths% %player_name% %batch_kills% %batch_missing%";
+
+    final PlaceholderTemplate template = PlaceholderTemplate.compile(text, Closure.PERCENT,
+        identifier -> identifier.equals("batch") ? expansion : Values.PLACEHOLDERS.get(identifier),
+        () -> 0L);
+
+    assertEquals("KILLS / DEATHS " + PLAYER_NAME + " KILLS %batch_missing%", template.apply(null));
+    assertEquals(Collections.singletonList(Arrays.asList("kills", "deaths", "missing")),
+        expansion.batches);
+    assertEquals(0, expansion.requests);
+  }
+
+  @NotNull
+  private static OfflinePlayer player(@NotNull final UUID uuid) {
+    return (OfflinePlayer) Proxy.newProxyInstance(OfflinePlayer.class.getClassLoader(),
+        new Class<?>[]{OfflinePlayer.class},
+        (proxy, method, args) -> method.getName().equals("getUniqueId") ? uuid : null);
+  }
+
+
+  private static final class UniqueIdPlaceholderExpansion extends PlaceholderExpansion {
+
+    @NotNull
+    @Override
+    public String getIdentifier() {
+      return "uuid";
+    }
+
+    @NotNull
+    @Override
+    public String getAuthor() {
+      return "PlaceholderAPI";
+    }
+
+    @NotNull
+    @Override
+    public String getVersion() {
+      return "1.0";
+    }
+
+    @Override
+    public String onRequest(@Nullable final OfflinePlayer player, @NotNull final String params) {
+      return player == null ? null : params + player.getUniqueId();
+    }
+
+  }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public final class ClassHeaderUnitTester {
+
+  @Test
+  void testSuperclassAndInterfacesAreRead() throws IOException {
+    final ClassHeader header = read(Sample.class);
+
+    assertEquals("me/clip/placeholderapi/util/ClassHeaderUnitTester$Sample", header.getName());
+    assertEquals("java/util/AbstractList", header.getSuperName());
+    assertArrayEquals(new String[]{"java/io/Serializable", "java/lang/Runnable"},
+        header.getInterfaces());
+    assertFalse(header.isAbstract());
+  }
+
+  @Test
+  void testAbstractClassesAndInterfacesAreFlagged() throws IOException {
+    assertTrue(read(AbstractSample.class).isAbstract());
+    assertTrue(read(Runnable.class).isAbstract());
+    assertNull(read(Object.class).getSuperName());
+  }
+
+  @Test
+  void testInvalidClassFilesAreRejected() {
+    assertThrows(IOException.class, () -> ClassHeader.read(new byte[]{1, 2, 3, 4, 5}));
+    assertThrows(IOException.class,
+        () -> ClassHeader.read(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE}));
+  }
+
+  private static ClassHeader read(final Class<?> clazz) throws IOException {
+    try (final InputStream stream = ClassLoader.getSystemResourceAsStream(
+        clazz.getName().replace('.', '/') + ".class")) {
+      return ClassHeader.read(stream);
+    }
+  }
+
+  private static final class Sample extends AbstractList<String> implements Serializable,
+      Runnable {
+
+    private static final long serialVersionUID = 1L;
+    private static final long LONG_CONSTANT = System.nanoTime();
+    private static final double DOUBLE_CONSTANT = Math.random();
+
+    @Override
+    public String get(final int index) {
+      return List.of("a", "b").get(index) + LONG_CONSTANT + DOUBLE_CONSTANT;
+    }
+
+    @Override
+    public int size() {
+      return 2;
+    }
+
+    @Override
+    public void run() {
+      final Runnable lambda = () -> System.out.println(this);
+      lambda.run();
+    }
+
+  }
+
+  private abstract static class AbstractSample {
+
+  }
+
+}
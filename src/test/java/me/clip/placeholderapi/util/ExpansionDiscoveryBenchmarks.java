@@ -0,0 +1,200 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Discovery of the expansion class in a folder of jars, each shading a library of
+ * {@link #libraryClasses} classes next to a single expansion:
+ * {@code ./gradlew jmh -PjmhInclude=ExpansionDiscoveryBenchmarks}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExpansionDiscoveryBenchmarks {
+
+  private static final int JARS = 100;
+
+  @Param({"50", "500"})
+  public int libraryClasses;
+
+  private Path folder;
+  private List<File> jars;
+
+  @Setup
+  public void setup() throws IOException {
+    folder = Files.createTempDirectory("papi-discovery");
+
+    final Path sources = Files.createDirectories(folder.resolve("sources"));
+    final Path classes = Files.createDirectories(folder.resolve("classes"));
+    final List<String> arguments = new ArrayList<>(List.of("-d", classes.toString(),
+        "-cp", System.getProperty("java.class.path"), "-proc:none"));
+
+    for (int i = 0; i < libraryClasses; i++) {
+      final String previous = i == 0 ? "Object" : "Type" + (i - 1);
+      arguments.add(write(sources, "library/Type" + i + ".java", "package library;\n"
+          + "public class Type" + i + " {\n"
+          + "  public " + previous + " previous;\n"
+          + "  public int value() { return " + i + "; }\n"
+          + "}\n"));
+    }
+
+    arguments.add(write(sources, "expansion/BenchmarkExpansion.java", "package expansion;\n"
+        + "public class BenchmarkExpansion extends " + PlaceholderExpansion.class.getName() + " {\n"
+        + "  public String getIdentifier() { return \"benchmark\"; }\n"
+        + "  public String getAuthor() { return \"benchmark\"; }\n"
+        + "  public String getVersion() { return \"1.0\"; }\n"
+        + "}\n"));
+
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+      throw new IllegalStateException("Failed to compile the benchmark classes");
+    }
+
+    jars = new ArrayList<>();
+    for (int i = 0; i < JARS; i++) {
+      final File jar = folder.resolve("Expansion-" + i + ".jar").toFile();
+      pack(classes, jar);
+      jars.add(jar);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    try (final Stream<Path> paths = Files.walk(folder)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Benchmark
+  public int measureLoadingEveryClass() throws Exception {
+    int found = 0;
+    for (final File jar : jars) {
+      found += close(findClassByLoading(jar, PlaceholderExpansion.class));
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int measureReadingClassHeaders() throws Exception {
+    int found = 0;
+    for (final File jar : jars) {
+      found += close(FileUtil.findClass(jar, PlaceholderExpansion.class));
+    }
+    return found;
+  }
+
+  private static int close(final Class<?> found) throws IOException {
+    if (found == null) {
+      return 0;
+    }
+
+    ((URLClassLoader) found.getClassLoader()).close();
+    return 1;
+  }
+
+  /**
+   * The discovery as it was before class headers were read, loading every class of the jar.
+   */
+  private static <T> Class<? extends T> findClassByLoading(final File file, final Class<T> clazz)
+      throws IOException, ClassNotFoundException {
+    final URL jar = file.toURI().toURL();
+    final URLClassLoader loader = new URLClassLoader(new URL[]{jar}, clazz.getClassLoader());
+    final List<String> matches = new ArrayList<>();
+    final List<Class<? extends T>> classes = new ArrayList<>();
+
+    try (final JarInputStream stream = new JarInputStream(jar.openStream())) {
+      JarEntry entry;
+      while ((entry = stream.getNextJarEntry()) != null) {
+        final String name = entry.getName();
+        if (name.isEmpty() || !name.endsWith(".class")) {
+          continue;
+        }
+
+        matches.add(name.substring(0, name.lastIndexOf('.')).replace('/', '.'));
+      }
+
+      for (final String match : matches) {
+        try {
+          final Class<?> loaded = loader.loadClass(match);
+          if (clazz.isAssignableFrom(loaded)) {
+            classes.add(loaded.asSubclass(clazz));
+          }
+        } catch (final NoClassDefFoundError ignored) {
+        }
+      }
+    }
+    if (classes.isEmpty()) {
+      loader.close();
+      return null;
+    }
+    return classes.get(0);
+  }
+
+  private static String write(final Path sources, final String name, final String source)
+      throws IOException {
+    final Path path = sources.resolve(name);
+    Files.createDirectories(path.getParent());
+    Files.write(path, source.getBytes(StandardCharsets.UTF_8));
+    return path.toString();
+  }
+
+  private static void pack(final Path classes, final File jar) throws IOException {
+    try (final JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()));
+        final Stream<Path> paths = Files.walk(classes)) {
+      for (final Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+        out.putNextEntry(new JarEntry(classes.relativize(path).toString().replace('\\', '/')));
+        Files.copy(path, (OutputStream) out);
+        out.closeEntry();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of PlaceholderAPI
+ *
+ * PlaceholderAPI
+ * Copyright (c) 2015 - 2024 PlaceholderAPI Team
+ *
+ * PlaceholderAPI free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlaceholderAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.clip.placeholderapi.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public final class WarnThrottleUnitTester {
+
+  @Test
+  void testRepeatedWarningsAreSuppressedAndCounted() {
+    final List<String> logged = new CopyOnWriteArrayList<>();
+    final WarnThrottle throttle = new WarnThrottle(logged::add, 1, TimeUnit.HOURS);
+
+    for (int i = 0; i < 20; i++) {
+      throttle.warn("math", "%math_1/0%", () -> "division by zero");
+    }
+    throttle.warn("math", "%math_x%", () -> "unknown variable");
+    throttle.warn("formatter", "%math_1/0%", () -> "other source");
+
+    throttle.close();
+
+    assertEquals(List.of("division by zero", "unknown variable", "other source",
+        "division by zero (repeated 19 more times in 3600s)"), logged);
+  }
+
+  @Test
+  void testWarningsAreLoggedAgainOnceTheWindowElapsed() throws InterruptedException {
+    final List<String> logged = new CopyOnWriteArrayList<>();
+    final WarnThrottle throttle = new WarnThrottle(logged::add, 20, TimeUnit.MILLISECONDS);
+
+    throttle.warn("math", "%math_1/0%", () -> "division by zero");
+    throttle.warn("math", "%math_1/0%", () -> "division by zero");
+    Thread.sleep(50);
+    throttle.warn("math", "%math_1/0%", () -> "division by zero");
+
+    throttle.close();
+
+    assertEquals(2, logged.stream().filter("division by zero"::equals).count());
+    assertEquals(1, logged.stream().filter(line -> line.contains("repeated 1 more times")).count());
+  }
+
+}